@@ -0,0 +1,71 @@
+package com.smeltingmetal.benchmark;
+
+import com.smeltingmetal.data.MaterialRole;
+import com.smeltingmetal.utils.MaterialKeywords;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path lookups behind ModUtils.getContentKeyFromString, getContentKeyFromAllowedString and getShapeKeyFromString,
+ * which only delegate to the compiled {@link MaterialKeywords}. One lookup per operation, cycling through the paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MaterialKeywordsBenchmark {
+    @Param({"10", "100", "500"})
+    public int materialCount;
+
+    @Param({"1000", "100000"})
+    public int itemCount;
+
+    private MaterialKeywords keywords;
+    private String[] paths;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SyntheticMaterials materials = new SyntheticMaterials(materialCount, itemCount);
+        keywords = materials.keywords();
+        paths = materials.itemPaths.toArray(String[]::new);
+    }
+
+    private String nextPath() {
+        if (++index == paths.length) index = 0;
+        return paths[index];
+    }
+
+    @Benchmark
+    public String contentKey() {
+        return keywords.getContentKey(nextPath());
+    }
+
+    @Benchmark
+    public String allowedContentKey() {
+        return keywords.getAllowedContentKey(nextPath());
+    }
+
+    @Benchmark
+    public String itemShapeKey() {
+        return keywords.getShapeKey(nextPath(), false);
+    }
+
+    @Benchmark
+    public String blockShapeKey() {
+        return keywords.getShapeKey(nextPath(), true);
+    }
+
+    @Benchmark
+    public Object classify() {
+        return keywords.classify(nextPath(), MaterialRole.NONE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MaterialKeywords compile() {
+        SyntheticMaterials materials = new SyntheticMaterials(materialCount, 0);
+        return materials.keywords();
+    }
+}
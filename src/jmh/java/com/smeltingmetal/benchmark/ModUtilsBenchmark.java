@@ -0,0 +1,66 @@
+package com.smeltingmetal.benchmark;
+
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.utils.ModUtils;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModUtils.getMetalPropertiesFromStack on stacks tagged with synthetic materials, half metals and the rest gems or
+ * untagged stacks that fall back to the default content. The synthetic snapshot is read through ModData.withSnapshot,
+ * around a whole batch of stacks, so each lookup pays the same thread-local check an unscoped lookup does.
+ * Item stacks need the vanilla registries, the setup bootstraps them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModUtilsBenchmark {
+    private static final int STACKS = 1024;
+
+    @Param({"10", "100", "500"})
+    public int materialCount;
+
+    private MaterialSnapshot snapshot;
+    private ItemStack[] stacks;
+
+    @Setup
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        SyntheticMaterials materials = new SyntheticMaterials(materialCount, 0);
+        snapshot = materials.snapshot();
+        Random random = new Random(materialCount);
+        stacks = new ItemStack[STACKS];
+        for (int i = 0; i < STACKS; i++) {
+            ItemStack stack = new ItemStack(Items.IRON_INGOT);
+            int pick = random.nextInt(4);
+            // One in four stays untagged
+            if (pick == 0) {
+                stack.getOrCreateTag().putString(ModData.CONTENT_KEY, materials.gems.get(random.nextInt(materials.gems.size())));
+            } else if (pick > 1) {
+                stack.getOrCreateTag().putString(ModData.CONTENT_KEY, materials.metals.get(random.nextInt(materials.metals.size())));
+            }
+            stacks[i] = stack;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STACKS)
+    public void metalPropertiesFromStack(Blackhole blackhole) {
+        ModData.withSnapshot(snapshot, () -> {
+            for (ItemStack stack : stacks) {
+                blackhole.consume(ModUtils.getMetalPropertiesFromStack(stack));
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.smeltingmetal.benchmark;
+
+import com.smeltingmetal.recipes.RecipeBatch;
+import com.smeltingmetal.recipes.RecipeUtils;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding and removing recipes in a RecipeManager: the single operation RecipeUtils calls against one RecipeBatch.
+ * Every operation changes {@link #CHANGES} recipes. Stub recipes keep registries and item stacks out of the picture.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeBatchBenchmark {
+    private static final int CHANGES = 100;
+    private static final int TYPE_COUNT = 8;
+
+    @Param({"1000", "10000", "100000"})
+    public int recipeCount;
+
+    private RecipeManager recipeManager;
+    private List<Recipe<?>> changed;
+
+    @Setup
+    public void setup() {
+        List<RecipeType<StubRecipe>> types = new ArrayList<>();
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            String name = "stub_" + i;
+            types.add(new RecipeType<>() {
+                @Override
+                public String toString() {
+                    return name;
+                }
+            });
+        }
+
+        List<Recipe<?>> recipes = new ArrayList<>(recipeCount);
+        for (int i = 0; i < recipeCount; i++) {
+            recipes.add(new StubRecipe(new ResourceLocation("benchmark", "recipe_" + i), types.get(i % TYPE_COUNT)));
+        }
+        recipeManager = new RecipeManager(ICondition.IContext.EMPTY);
+        recipeManager.replaceRecipes(recipes);
+        changed = recipes.subList(0, Math.min(CHANGES, recipes.size()));
+    }
+
+    // Removed recipes are put back before the next invocation, so every invocation starts from the full set
+    @State(Scope.Thread)
+    public static class Removed {
+        @Setup(Level.Invocation)
+        public void restore(RecipeBatchBenchmark benchmark) {
+            RecipeBatch batch = new RecipeBatch();
+            benchmark.changed.forEach(recipe -> batch.add(recipe.getId(), recipe));
+            batch.apply(benchmark.recipeManager);
+        }
+    }
+
+    @Benchmark
+    public void replaceSingle() {
+        for (Recipe<?> recipe : changed) {
+            RecipeUtils.createInRecipeInManager(recipeManager, recipe.getId(), recipe);
+        }
+    }
+
+    @Benchmark
+    public RecipeBatch.Result replaceBatch() {
+        RecipeBatch batch = new RecipeBatch();
+        changed.forEach(recipe -> batch.add(recipe.getId(), recipe));
+        return batch.apply(recipeManager);
+    }
+
+    @Benchmark
+    public void removeSingle(Removed removed) {
+        for (Recipe<?> recipe : changed) {
+            RecipeUtils.removeRecipeInManager(recipeManager, recipe.getId());
+        }
+    }
+
+    @Benchmark
+    public RecipeBatch.Result removeBatch(Removed removed) {
+        RecipeBatch batch = new RecipeBatch();
+        changed.forEach(recipe -> batch.remove(recipe.getId()));
+        return batch.apply(recipeManager);
+    }
+
+    private static class StubRecipe implements Recipe<Container> {
+        private final ResourceLocation id;
+        private final RecipeType<?> type;
+
+        private StubRecipe(ResourceLocation id, RecipeType<?> type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        @Override
+        public boolean matches(Container container, net.minecraft.world.level.Level level) {
+            return false;
+        }
+
+        @Override
+        public ItemStack assemble(Container container, RegistryAccess registryAccess) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean canCraftInDimensions(int width, int height) {
+            return false;
+        }
+
+        @Override
+        public ItemStack getResultItem(RegistryAccess registryAccess) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResourceLocation getId() {
+            return id;
+        }
+
+        @Override
+        public RecipeSerializer<?> getSerializer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RecipeType<?> getType() {
+            return type;
+        }
+    }
+}
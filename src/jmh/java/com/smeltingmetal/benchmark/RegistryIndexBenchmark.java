@@ -0,0 +1,77 @@
+package com.smeltingmetal.benchmark;
+
+import com.smeltingmetal.init.RegistryIndex;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The registry index behind ModData.init: indexing the item registry, the exact path lookups of every material and
+ * the result shape resolution, which falls back to {@link RegistryIndex#findContaining} when no exact path exists.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegistryIndexBenchmark {
+    @Param({"10", "100", "500"})
+    public int materialCount;
+
+    @Param({"1000", "10000", "100000"})
+    public int itemCount;
+
+    private SyntheticMaterials materials;
+    private RegistryIndex index;
+    private String[] exactPaths;
+    private List<List<String>> shapeKeywords;
+    private int lookupIndex;
+
+    @Setup
+    public void setup() {
+        materials = new SyntheticMaterials(materialCount, itemCount);
+        index = new RegistryIndex(materials.itemIds);
+        exactPaths = materials.metals.stream().map(metal -> metal + "_ingot").toArray(String[]::new);
+        shapeKeywords = new ArrayList<>(SyntheticMaterials.ITEM_SHAPE_MAP.values());
+        shapeKeywords.addAll(SyntheticMaterials.BLOCK_SHAPE_MAP.values());
+    }
+
+    @Benchmark
+    public RegistryIndex buildIndex() {
+        return new RegistryIndex(materials.itemIds);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ResourceLocation findByPath() {
+        if (++lookupIndex >= exactPaths.length) lookupIndex = 0;
+        return index.findByPath(exactPaths[lookupIndex]);
+    }
+
+    // Every result shape of every material against a fresh index, as one ModData.init resolves them
+    @Benchmark
+    public void resolveShapes(Blackhole blackhole) {
+        RegistryIndex fresh = new RegistryIndex(materials.itemIds);
+        for (String material : materials.metals) {
+            for (List<String> keywords : shapeKeywords) {
+                blackhole.consume(fresh.findMaterialShape(material, keywords));
+            }
+        }
+        for (String material : materials.gems) {
+            for (List<String> keywords : shapeKeywords) {
+                blackhole.consume(fresh.findMaterialShape(material, keywords));
+            }
+        }
+    }
+
+    // Steady state of a single resolution, the keyword match lists are already built
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ResourceLocation findMaterialShape() {
+        if (++lookupIndex >= materials.metals.size() * shapeKeywords.size()) lookupIndex = 0;
+        return index.findMaterialShape(materials.metals.get(lookupIndex / shapeKeywords.size()),
+                shapeKeywords.get(lookupIndex % shapeKeywords.size()));
+    }
+}
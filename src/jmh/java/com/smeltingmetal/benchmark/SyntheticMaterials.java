@@ -0,0 +1,96 @@
+package com.smeltingmetal.benchmark;
+
+import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.utils.MaterialKeywords;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.*;
+
+/**
+ * Seeded synthetic materials and item registries, so every benchmark run sees the same data.
+ * About a third of the item paths are material items (ingots, tools, armor, raw and blocks),
+ * the rest are unrelated names, roughly the mix of a large modpack.
+ */
+public class SyntheticMaterials {
+    public static final List<String> ITEM_SHAPES = List.of("ingot", "pickaxe", "axe", "shovel", "sword", "hoe");
+    public static final Map<String, List<String>> ITEM_SHAPE_MAP = Map.of(
+            "ingot", List.of("ingot"), "pickaxe", List.of("pickaxe"), "axe", List.of("axe"),
+            "shovel", List.of("shovel"), "sword", List.of("sword"), "hoe", List.of("hoe"));
+    public static final Map<String, List<String>> BLOCK_SHAPE_MAP = Map.of(
+            "block", List.of("block"), "helmet", List.of("helmet", "cap"), "armor", List.of("chestplate", "tunic", "armor"),
+            "pants", List.of("pants", "leggings"), "boots", List.of("boots", "shoes"));
+    public static final List<String> BLACKLIST = List.of("nugget", "scrap", "mold", "template", "shard", "bucket");
+    public static final List<String> BLOCK_KEYWORDS = List.of("block", "slab", "stairs", "wall", "bricks", "tiles");
+
+    private static final String[] PREFIXES = {"raw_", "", "", "crushed_raw_", ""};
+    private static final String[] SUFFIXES = {"_ingot", "_pickaxe", "_sword", "_block", "_chestplate", "_nugget", "_boots", ""};
+    private static final String[] NOISE = {"oak", "planks", "stone", "glass", "pane", "door", "lamp", "gear", "belt", "shaft",
+            "wool", "carpet", "flower", "seed", "pipe", "cable", "machine", "casing", "dust", "plate"};
+
+    public final List<String> metals;
+    public final List<String> gems;
+    public final List<String> itemPaths;
+    public final List<ResourceLocation> itemIds;
+
+    public SyntheticMaterials(int materialCount, int itemCount) {
+        Random random = new Random(materialCount * 31L + itemCount);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < materialCount) {
+            names.add(randomWord(random, 4, 8));
+        }
+        List<String> materials = new ArrayList<>(names);
+        int gemCount = Math.max(1, materialCount / 5);
+        this.gems = List.copyOf(materials.subList(0, gemCount));
+        this.metals = List.copyOf(materials.subList(gemCount, materials.size()));
+
+        List<String> paths = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            if (random.nextInt(3) == 0) {
+                String material = materials.get(random.nextInt(materials.size()));
+                paths.add(PREFIXES[random.nextInt(PREFIXES.length)] + material + SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            } else {
+                paths.add(NOISE[random.nextInt(NOISE.length)] + "_" + NOISE[random.nextInt(NOISE.length)] + "_" + i);
+            }
+        }
+        this.itemPaths = List.copyOf(paths);
+        List<ResourceLocation> ids = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            ids.add(new ResourceLocation("mod" + (i % 50), paths.get(i)));
+        }
+        this.itemIds = List.copyOf(ids);
+    }
+
+    public MaterialKeywords keywords() {
+        return MaterialKeywords.of(metals, gems, ITEM_SHAPE_MAP, BLOCK_SHAPE_MAP, BLACKLIST, BLOCK_KEYWORDS);
+    }
+
+    /**
+     * The materials as ModData would load them, with ingot, gem and block ids but no results or optional items.
+     */
+    public MaterialSnapshot snapshot() {
+        Map<String, MetalProperties> metalProperties = new HashMap<>();
+        for (String metal : metals) {
+            metalProperties.put(metal, new MetalProperties(metal, new ResourceLocation("benchmark", metal + "_ingot"),
+                    new ResourceLocation("benchmark", metal + "_block"), null, null, null, null, null, null,
+                    Map.of(), Map.of(), ModData.DEFAULT_COLOR));
+        }
+        Map<String, GemProperties> gemProperties = new HashMap<>();
+        for (String gem : gems) {
+            gemProperties.put(gem, new GemProperties(gem, new ResourceLocation("benchmark", gem),
+                    new ResourceLocation("benchmark", gem + "_block"), null, Map.of(), Map.of(), ModData.DEFAULT_COLOR));
+        }
+        return new MaterialSnapshot(metalProperties, gemProperties, ITEM_SHAPE_MAP, BLOCK_SHAPE_MAP);
+    }
+
+    private static String randomWord(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.smeltingmetal;
 
 import com.smeltingmetal.config.ModConfig;
 import com.smeltingmetal.init.*;
+import com.smeltingmetal.network.ModNetwork;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraftforge.common.MinecraftForge;
@@ -18,8 +19,6 @@ import org.slf4j.LoggerFactory;
 /**
  * Main mod class for the Smelting Metal mod.
  * TODO add metal/gem item cooling fail chance? to reduse exploitation by f.e. repairing unenchanted items? maybe crush into nuggets instead?
- * TODO add custom results by hardening clay molds in a way that keeps nbt.
- *      hardened is just set it on fire, netherite set it on soul fire? thats something i guess
  */
 @Mod(SmeltingMetalMod.MODID)
 public class SmeltingMetalMod {
@@ -62,6 +61,7 @@ public class SmeltingMetalMod {
     }
 
     private void setup(final FMLCommonSetupEvent event) {
+        ModNetwork.register();
         event.enqueueWork(() -> LOGGER.info("SmeltingMetal mod setup complete"));
     }
 
@@ -85,7 +85,8 @@ public class SmeltingMetalMod {
     private void onConfigReloading(ModConfigEvent.Reloading event) {
         if (event.getConfig().getSpec() == ModConfig.CONFIG_SPEC) {
             LOGGER.info("Reloading Smelting Metal config...");
-            ModData.init();
+            // Built off the config thread, readers keep the previous materials until the new ones are swapped in
+            ModData.reloadAsync();
         }
     }
 
@@ -0,0 +1,45 @@
+package com.smeltingmetal.client;
+
+import com.smeltingmetal.SmeltingMetalMod;
+import com.smeltingmetal.init.MaterialDefinitions;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.recipes.RecipeRegenerationSync;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.List;
+
+@Mod.EventBusSubscriber(modid = SmeltingMetalMod.MODID, value = Dist.CLIENT, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ClientEvents {
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        RecipeRegenerationSync.onLogin();
+    }
+
+    // The login recipe packet comes before the tags, recipes that waited for them are handled again
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.CLIENT_PACKET_RECEIVED) return;
+        List<Recipe<?>> deferred = RecipeRegenerationSync.onTagsReceived();
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        if (deferred != null && connection != null) {
+            connection.handleUpdateRecipes(new ClientboundUpdateRecipesPacket(deferred));
+        }
+    }
+
+    // Materials received from a remote server do not carry over to the next server or world
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        if (event.getConnection() != null && !event.getConnection().isMemoryConnection()
+                && ModData.getDatapackMaterials() != MaterialDefinitions.EMPTY) {
+            ModData.setDatapackMaterials(MaterialDefinitions.EMPTY);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smeltingmetal.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.smeltingmetal.recipes.RecipeProfile;
+import com.smeltingmetal.recipes.RecipeProfiler;
+import com.smeltingmetal.recipes.RecipeSyncCoordinator;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import java.util.List;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * Admin commands of the mod, all under /smeltingmetal.
+ */
+public class ModCommands {
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(MODID)
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("profile")
+                        .then(Commands.literal("recipes")
+                                .executes(context -> showRecipeProfiles(context, RecipeProfiler.HISTORY_SIZE))
+                                .then(Commands.argument("count", IntegerArgumentType.integer(1, RecipeProfiler.HISTORY_SIZE))
+                                        .executes(context -> showRecipeProfiles(context, IntegerArgumentType.getInteger(context, "count")))))
+                        .then(Commands.literal("sync")
+                                .executes(ModCommands::showLastSync))));
+    }
+
+    // Newest profile last, so it ends up right above the chat input
+    private static int showRecipeProfiles(CommandContext<CommandSourceStack> context, int count) {
+        CommandSourceStack source = context.getSource();
+        List<RecipeProfile> history = RecipeProfiler.getHistory();
+        if (history.isEmpty()) {
+            source.sendFailure(Component.literal("No recipe processing has been profiled yet"));
+            return 0;
+        }
+
+        List<RecipeProfile> shown = history.subList(Math.max(0, history.size() - count), history.size());
+        for (RecipeProfile profile : shown) {
+            source.sendSuccess(() -> Component.literal(String.format("%s at %s: %d ms", profile.getTrigger(),
+                    profile.getStartedAt(), profile.getTotalNanos() / 1_000_000)), false);
+            for (RecipeProfile.Phase phase : profile.getPhases()) {
+                String allocated = phase.allocatedBytes() < 0 ? "n/a" : phase.allocatedBytes() / 1024 + " KiB";
+                source.sendSuccess(() -> Component.literal(String.format("  %s: %.1f ms, %d scanned, %d generated, %d removed, %s allocated",
+                        phase.name(), phase.nanos() / 1_000_000.0, phase.scanned(), phase.generated(), phase.removed(), allocated)), false);
+            }
+        }
+        return shown.size();
+    }
+
+    private static int showLastSync(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        RecipeSyncCoordinator.Sync sync = RecipeSyncCoordinator.getLastSync();
+        if (sync == null) {
+            source.sendFailure(Component.literal("No recipe sync has been sent yet"));
+            return 0;
+        }
+
+        // Local connections are not encoded, so fewer packets than players can be measured
+        source.sendSuccess(() -> Component.literal(String.format("Recipe sync at %s: %d recipes to %d players, %d KiB in %d encoded packets",
+                sync.getSentAt(), sync.getRecipes(), sync.getPlayers(), sync.getEncodedBytes() / 1024, sync.getEncodedPackets())), false);
+        return 1;
+    }
+}
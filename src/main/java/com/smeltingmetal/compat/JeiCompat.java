@@ -0,0 +1,91 @@
+package com.smeltingmetal.compat;
+
+import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.recipes.MoltenMeltingRecipe;
+import mezz.jei.api.IModPlugin;
+import mezz.jei.api.JeiPlugin;
+import mezz.jei.api.constants.RecipeTypes;
+import mezz.jei.api.registration.IRecipeRegistration;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.BlastingRecipe;
+import net.minecraft.world.item.crafting.CookingBookCategory;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * Shows what the {@link MoltenMeltingRecipe}s melt. They take any metal item and hide from the recipe book, so JEI
+ * gets display-only furnace recipes instead, one per metal and form with every item that melts into it.
+ * Time, experience and result come from the melting recipes the server sent, no recipe is shown without them.
+ */
+@JeiPlugin
+public class JeiCompat implements IModPlugin {
+    private static final ResourceLocation UID = new ResourceLocation(MODID, "jei_plugin");
+
+    @Override
+    public ResourceLocation getPluginUid() {
+        return UID;
+    }
+
+    @Override
+    public void registerRecipes(IRecipeRegistration registration) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) return;
+
+        // Items and blocks of every metal, in metal name order
+        Map<String, List<Item>> meltedItems = new TreeMap<>();
+        Map<String, List<Item>> meltedBlocks = new TreeMap<>();
+        for (Item item : ForgeRegistries.ITEMS.getValues()) {
+            MetalProperties metalProps = MoltenMeltingRecipe.getMeltingMetal(item);
+            if (metalProps == null) continue;
+            Map<String, List<Item>> byMetal = MoltenMeltingRecipe.isMeltedAsBlock(metalProps, item) ? meltedBlocks : meltedItems;
+            byMetal.computeIfAbsent(metalProps.name(), name -> new ArrayList<>()).add(item);
+        }
+
+        List<SmeltingRecipe> smelting = new ArrayList<>();
+        List<BlastingRecipe> blasting = new ArrayList<>();
+        // Listed from all recipes, the molten recipes are not instances of the vanilla classes of their type
+        for (Recipe<?> recipe : level.getRecipeManager().getRecipes()) {
+            if (!(recipe instanceof MoltenMeltingRecipe melting)) continue;
+            Map<String, List<Item>> byMetal = melting.isBlock() ? meltedBlocks : meltedItems;
+            if (melting.getType() == RecipeType.SMELTING) {
+                addDisplayRecipes(smelting, melting, byMetal, level.registryAccess(), SmeltingRecipe::new);
+            } else if (melting.getType() == RecipeType.BLASTING) {
+                addDisplayRecipes(blasting, melting, byMetal, level.registryAccess(), BlastingRecipe::new);
+            }
+        }
+        registration.addRecipes(RecipeTypes.SMELTING, smelting);
+        registration.addRecipes(RecipeTypes.BLASTING, blasting);
+    }
+
+    // The result is what the melting recipe assembles for the first item, every item of a metal gives the same
+    private static <T> void addDisplayRecipes(List<T> displayed, MoltenMeltingRecipe recipe, Map<String, List<Item>> byMetal,
+                                              RegistryAccess registryAccess, CookingRecipeFactory<T> factory) {
+        byMetal.forEach((metal, items) -> {
+            ItemStack result = recipe.assemble(new SimpleContainer(new ItemStack(items.get(0))), registryAccess);
+            ResourceLocation id = new ResourceLocation(MODID, "jei/" + recipe.getId().getPath() + "/" + metal);
+            displayed.add(factory.create(id, "", recipe.category(), Ingredient.of(items.toArray(Item[]::new)), result,
+                    recipe.getExperience(), recipe.getCookingTime()));
+        });
+    }
+
+    private interface CookingRecipeFactory<T> {
+        T create(ResourceLocation id, String group, CookingBookCategory category, Ingredient input, ItemStack result,
+                 float experience, int cookingTime);
+    }
+}
@@ -1,7 +1,11 @@
 package com.smeltingmetal.config;
 
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.file.FileNotFoundAction;
+import com.electronwill.nightconfig.toml.TomlFormat;
 import net.minecraftforge.common.ForgeConfigSpec;
 
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -19,6 +23,16 @@ public class ModConfig {
         CONFIG_SPEC = builder.build();
     }
 
+    /**
+     * Reads a config file into the spec without the Forge config tracker, for data runs where Forge never loads
+     * COMMON configs. A missing file or missing values get the defaults, the file itself is not written.
+     */
+    public static void loadFromFile(Path file) {
+        CommentedConfig data = TomlFormat.instance().createParser().parse(file, FileNotFoundAction.READ_NOTHING);
+        CONFIG_SPEC.correct(data);
+        CONFIG_SPEC.acceptConfig(data);
+    }
+
     /**
      * Inner configuration class that holds all configurable values for the mod.
      * These values are loaded from the mod's configuration file and can be
@@ -37,6 +51,9 @@ public class ModConfig {
         public final ForgeConfigSpec.BooleanValue enableNuggetRecipeReplacement;
         public final ForgeConfigSpec.BooleanValue enableResultRecipeRemoval;
         public final ForgeConfigSpec.BooleanValue enableCraftingRecipeReplacement;
+        public final ForgeConfigSpec.IntValue recipePlanningParallelism;
+        public final ForgeConfigSpec.BooleanValue enableClientRecipeRegeneration;
+        public final ForgeConfigSpec.BooleanValue usePregeneratedRecipes;
 
         public Config(ForgeConfigSpec.Builder builder) {
             builder.comment("Metal processing configuration")
@@ -47,6 +64,7 @@ public class ModConfig {
             metalDefinitions = builder
                     .comment("List of base metal names to be processed (e.g., iron, gold, tin).")
                     .comment("It's possible to assign non standard values to its properties after comma: color, molten_fluid, bucket, block, raw, raw_block, nugget, crushed, ingot. f.e. netherite,raw=netherite_scrap")
+                    .comment("Values can be paths, full ids or #tags. Datapacks can add more metals in data/<namespace>/smeltingmetal/materials, entries here win over them.")
                     .defineList(
                             "metal_definitions",
                             defaultMetals,
@@ -58,6 +76,7 @@ public class ModConfig {
             gemDefinitions = builder
                     .comment("List of base gem names to be processed (e.g., diamond, emerald, ruby, sapphire).")
                     .comment("It's possible to assign non standard values to its properties after comma: color, gem, shard, block f.e. emerald,shard=emerald_nugget")
+                    .comment("Values can be paths, full ids or #tags. Datapacks can add more gems in data/<namespace>/smeltingmetal/materials, entries here win over them.")
                     .defineList(
                             "gem_definitions",
                             defaultGems,
@@ -119,6 +138,24 @@ public class ModConfig {
                     .define("enable_ingot_crafting_recipe_replacement", false);
 
             builder.pop();
+
+            // Performance settings
+            builder.comment("Performance settings")
+                    .push("performance");
+
+            recipePlanningParallelism = builder
+                    .comment("Number of threads used to plan recipe replacements on (re)load. 0 uses one thread per available core, 1 plans sequentially on the reload thread.")
+                    .defineInRange("recipe_planning_parallelism", 0, 0, 256);
+
+            enableClientRecipeRegeneration = builder
+                    .comment("Let clients with this mod generate the molten, crushing and nugget recipes themselves instead of receiving them from the server. Clients whose materials differ get the full recipe list.")
+                    .define("enable_client_recipe_regeneration", true);
+
+            usePregeneratedRecipes = builder
+                    .comment("Skip recipe processing on server start and /reload when a datapack pregenerated with runData -PpregenDir=<directory> is loaded and was made with the current settings.")
+                    .define("use_pregenerated_recipes", false);
+
+            builder.pop();
         }
     }
 }
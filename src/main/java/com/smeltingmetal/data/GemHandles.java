@@ -0,0 +1,23 @@
+package com.smeltingmetal.data;
+
+import net.minecraft.world.item.Item;
+
+import java.util.Map;
+
+/**
+ * The registry entries behind a {@link GemProperties}, resolved once so gameplay code does not look them up again.
+ * Entries that are not configured or not registered are null.
+ *
+ * @param properties The properties the entries were resolved from
+ * @param itemResults Item results by shape
+ * @param blockResults Block results by shape
+ */
+public record GemHandles(
+    GemProperties properties,
+    Item gem,
+    Item block,
+    Item shard,
+    Map<String, Item> itemResults,
+    Map<String, Item> blockResults
+) {
+}
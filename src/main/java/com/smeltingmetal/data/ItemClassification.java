@@ -0,0 +1,47 @@
+package com.smeltingmetal.data;
+
+/**
+ * Material classification of a single item, derived from its registry path and the configured materials.
+ *
+ * @param metalKey The first metal key contained in the item path, or null
+ * @param gemKey The first gem key contained in the item path, or null
+ * @param itemShape The item result shape matched by the item path, or an empty string
+ * @param blockShape The block result shape matched by the item path, or an empty string
+ * @param isBlock Whether the item path contains one of the block keywords
+ * @param blacklisted Whether the item path contains one of the blacklist keywords
+ * @param role The role of the item in the metal or gem properties, NONE if it is not referenced there
+ */
+public record ItemClassification(
+    String metalKey,
+    String gemKey,
+    String itemShape,
+    String blockShape,
+    boolean isBlock,
+    boolean blacklisted,
+    MaterialRole role
+) {
+    public static final ItemClassification NONE = new ItemClassification(null, null, "", "", false, false, MaterialRole.NONE);
+
+    public boolean isMetal() {
+        return metalKey != null;
+    }
+
+    public boolean isGem() {
+        return gemKey != null;
+    }
+
+    /**
+     * Metal key first, then gem key, same order as content key lookups by path.
+     */
+    public String contentKey() {
+        return metalKey != null ? metalKey : gemKey;
+    }
+
+    /**
+     * Shape for printing into a mold, empty for blacklisted items.
+     */
+    public String getShape(boolean isBlock) {
+        if (blacklisted) return "";
+        return isBlock ? blockShape : itemShape;
+    }
+}
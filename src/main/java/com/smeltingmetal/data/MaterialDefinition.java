@@ -0,0 +1,122 @@
+package com.smeltingmetal.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unresolved definition of a metal or gem, from a config entry or a datapack file.
+ * Values are item, block or fluid references: a plain path matches any namespace, a full id must exist
+ * and a #tag resolves to the first entry of the tag.
+ *
+ * @param name The material name (e.g., "iron")
+ * @param isMetal Whether this defines a metal or a gem
+ * @param properties Property overrides by their config key (e.g., "raw" -> "netherite_scrap"), colors are hex strings
+ * @param itemResults Item result overrides by shape
+ * @param blockResults Block result overrides by shape
+ */
+public record MaterialDefinition(
+    String name,
+    boolean isMetal,
+    Map<String, String> properties,
+    Map<String, String> itemResults,
+    Map<String, String> blockResults
+) {
+    public static final Set<String> METAL_PROPERTIES = Set.of("ingot", "block", "raw", "raw_block", "nugget", "crushed",
+            "bucket", "molten_fluid", "color");
+    public static final Set<String> GEM_PROPERTIES = Set.of("gem", "block", "shard", "color");
+
+    /**
+     * Parses a config entry such as "netherite,raw=netherite_scrap". Unknown keys are kept and reported when resolved.
+     */
+    public static MaterialDefinition fromConfig(String definition, boolean isMetal) {
+        String[] parts = definition.split(",");
+        String name = parts[0].trim();
+        if (name.contains(":")) {
+            name = name.substring(name.indexOf(':') + 1);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 1; i < parts.length; i++) {
+            String[] keyValue = parts[i].split("=", 2);
+            if (keyValue.length == 2) {
+                properties.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+        }
+        return new MaterialDefinition(name, isMetal, properties, Map.of(), Map.of());
+    }
+
+    /**
+     * Parses and validates a datapack file, the name defaults to the file name.
+     */
+    public static MaterialDefinition fromJson(ResourceLocation id, JsonObject json) {
+        String type = GsonHelper.getAsString(json, "type");
+        boolean isMetal = switch (type) {
+            case "metal" -> true;
+            case "gem" -> false;
+            default -> throw new JsonParseException("Unknown material type '" + type + "', expected metal or gem");
+        };
+        String name = GsonHelper.getAsString(json, "name", id.getPath().substring(id.getPath().lastIndexOf('/') + 1));
+        if (name.isEmpty() || !ResourceLocation.isValidPath(name) || name.contains("/")) {
+            throw new JsonParseException("Invalid material name '" + name + "'");
+        }
+
+        Set<String> allowed = isMetal ? METAL_PROPERTIES : GEM_PROPERTIES;
+        Map<String, String> properties = new LinkedHashMap<>();
+        Map<String, String> itemResults = Map.of();
+        Map<String, String> blockResults = Map.of();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            String key = entry.getKey();
+            switch (key) {
+                case "type", "name", "conditions" -> {
+                }
+                case "item_results" -> itemResults = readResults(GsonHelper.getAsJsonObject(json, key));
+                case "block_results" -> blockResults = readResults(GsonHelper.getAsJsonObject(json, key));
+                case "color" -> properties.put(key, readColor(entry.getValue()));
+                default -> {
+                    if (!allowed.contains(key)) {
+                        throw new JsonParseException("Unknown property '" + key + "' for a " + type);
+                    }
+                    properties.put(key, readReference(GsonHelper.convertToString(entry.getValue(), key)));
+                }
+            }
+        }
+        return new MaterialDefinition(name, isMetal, properties, itemResults, blockResults);
+    }
+
+    private static Map<String, String> readResults(JsonObject json) {
+        Map<String, String> results = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            results.put(entry.getKey(), readReference(GsonHelper.convertToString(entry.getValue(), entry.getKey())));
+        }
+        return results;
+    }
+
+    private static String readReference(String value) {
+        String id = value.startsWith("#") ? value.substring(1) : value;
+        if (ResourceLocation.tryParse(id) == null) {
+            throw new JsonParseException("Invalid reference '" + value + "'");
+        }
+        return value;
+    }
+
+    // Either a hex string or a number, stored as hex like the config
+    private static String readColor(JsonElement element) {
+        if (GsonHelper.isNumberValue(element)) {
+            return Integer.toHexString(element.getAsInt());
+        }
+        String value = GsonHelper.convertToString(element, "color");
+        try {
+            Integer.parseInt(value, 16);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Invalid color '" + value + "', expected a hex value such as B3A294");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.smeltingmetal.data;
+
+/**
+ * The metal or gem an item is configured for and the part it plays there.
+ *
+ * @param name Name of the metal or gem
+ * @param isMetal Whether the name is a metal, otherwise it is a gem
+ * @param role The role of the item, never NONE
+ */
+public record MaterialRef(String name, boolean isMetal, MaterialRole role) {
+}
@@ -0,0 +1,18 @@
+package com.smeltingmetal.data;
+
+/**
+ * The part an item plays for the metal or gem it belongs to, as configured in {@link MetalProperties} and {@link GemProperties}.
+ */
+public enum MaterialRole {
+    INGOT,
+    BLOCK,
+    RAW,
+    RAW_BLOCK,
+    NUGGET,
+    CRUSHED,
+    BUCKET,
+    GEM,
+    SHARD,
+    RESULT,
+    NONE;
+}
@@ -0,0 +1,29 @@
+package com.smeltingmetal.data;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.material.Fluid;
+
+import java.util.Map;
+
+/**
+ * The registry entries behind a {@link MetalProperties}, resolved once so gameplay code does not look them up again.
+ * Entries that are not configured or not registered are null.
+ *
+ * @param properties The properties the entries were resolved from
+ * @param itemResults Item results by shape
+ * @param blockResults Block results by shape
+ */
+public record MetalHandles(
+    MetalProperties properties,
+    Item ingot,
+    Item block,
+    Item raw,
+    Item rawBlock,
+    Item nugget,
+    Item crushed,
+    Item bucket,
+    Fluid moltenFluid,
+    Map<String, Item> itemResults,
+    Map<String, Item> blockResults
+) {
+}
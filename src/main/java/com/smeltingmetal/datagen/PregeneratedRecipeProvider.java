@@ -0,0 +1,152 @@
+package com.smeltingmetal.datagen;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.recipes.PregeneratedRecipes;
+import com.smeltingmetal.recipes.RecipeFingerprints;
+import com.smeltingmetal.recipes.RecipePlan;
+import com.smeltingmetal.recipes.RecipeProcessor;
+import com.smeltingmetal.recipes.RecipeProfile;
+import com.smeltingmetal.recipes.replay.RecipeReplay;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.PackOutput;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.fml.ModList;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes the recipe plan into a standalone datapack: every added recipe as JSON, every removed recipe as a file
+ * with a forge:false condition that hides the original, and the {@link PregeneratedRecipes} marker.
+ * The recipes to remove are planned from a recipe dump of the target server, without one only the generated
+ * recipes are written. Run with ./gradlew runData -PpregenDir=<pack directory> [-PpregenDump=<dump directory>]
+ * [-PconfigFile=<common config>], the pack has to be loaded above the datapacks whose recipes it removes.
+ * The marker is only valid for the config the pack was planned with, so no pack is written without materials.
+ */
+public class PregeneratedRecipeProvider implements DataProvider {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final String PREGEN_PROPERTY = "smeltingmetal.pregen";
+    public static final String DUMP_PROPERTY = "smeltingmetal.pregen.dump";
+    private static final int PACK_FORMAT = 15;
+
+    private final PackOutput output;
+    private final @Nullable Path dumpDirectory;
+
+    public PregeneratedRecipeProvider(PackOutput output, @Nullable Path dumpDirectory) {
+        this.output = output;
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    public static @Nullable Path getDirectory() {
+        return getPath(PREGEN_PROPERTY);
+    }
+
+    public static @Nullable Path getDumpDirectory() {
+        return getPath(DUMP_PROPERTY);
+    }
+
+    private static @Nullable Path getPath(String property) {
+        String directory = System.getProperty(property);
+        return directory == null || directory.isBlank() ? null : Paths.get(directory);
+    }
+
+    @Override
+    public CompletableFuture<?> run(CachedOutput cache) {
+        RecipeProfile profile = new RecipeProfile("pregenerate");
+        MaterialSnapshot materials;
+        try {
+            RecipeReplay.initMaterials();
+            materials = ModData.getSnapshot();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (materials.metals().isEmpty() && materials.gems().isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "No metals or gems are configured, refusing to write a pregenerated pack for them"));
+        }
+
+        RecipeManager recipeManager;
+        try {
+            recipeManager = dumpDirectory == null
+                    ? new RecipeManager(ICondition.IContext.EMPTY) : RecipeReplay.load(dumpDirectory, profile).recipeManager();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        RegistryAccess registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+        RecipePlan plan = RecipeProcessor.planUncached(recipeManager, registryAccess, profile);
+
+        // A pack missing any planned recipe would silently differ from runtime processing
+        List<ResourceLocation> unsupported = new ArrayList<>();
+        List<CompletableFuture<?>> writes = new ArrayList<>();
+        PackOutput.PathProvider recipes = output.createPathProvider(PackOutput.Target.DATA_PACK, "recipes");
+        for (Map.Entry<ResourceLocation, Recipe<?>> entry : plan.additions().entrySet()) {
+            JsonObject json = RecipeJson.toJson(entry.getValue());
+            if (json == null) {
+                unsupported.add(entry.getKey());
+            } else {
+                writes.add(DataProvider.saveStable(cache, json, recipes.json(entry.getKey())));
+            }
+        }
+        if (!unsupported.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Cannot write " + unsupported.size()
+                    + " planned recipes as JSON, first " + unsupported.get(0)));
+        }
+        for (ResourceLocation recipeId : plan.removals()) {
+            writes.add(DataProvider.saveStable(cache, createRemoval(), recipes.json(recipeId)));
+        }
+
+        PregeneratedRecipes.Marker marker = new PregeneratedRecipes.Marker(
+                RecipeFingerprints.settings(ModList.get().isLoaded("create")), plan.additions().size(), plan.removals().size());
+        Path markerPath = output.getOutputFolder(PackOutput.Target.DATA_PACK)
+                .resolve(PregeneratedRecipes.MARKER.getNamespace()).resolve(PregeneratedRecipes.MARKER.getPath());
+        writes.add(DataProvider.saveStable(cache, marker.toJson(), markerPath));
+        writes.add(DataProvider.saveStable(cache, createPackMeta(), output.getOutputFolder().resolve("pack.mcmeta")));
+
+        LOGGER.info("Pregenerated {} recipes and {} removals into {} in {} ms", plan.additions().size(), plan.removals().size(),
+                output.getOutputFolder(), profile.getTotalNanos() / 1_000_000);
+        return CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new));
+    }
+
+    // Forge skips recipes whose conditions fail before reading anything else
+    private static JsonObject createRemoval() {
+        JsonObject condition = new JsonObject();
+        condition.addProperty("type", "forge:false");
+        JsonArray conditions = new JsonArray();
+        conditions.add(condition);
+        JsonObject json = new JsonObject();
+        json.add("conditions", conditions);
+        return json;
+    }
+
+    private static JsonObject createPackMeta() {
+        JsonObject pack = new JsonObject();
+        pack.addProperty("pack_format", PACK_FORMAT);
+        pack.addProperty("description", "Smelting Metal pregenerated recipes");
+        JsonObject json = new JsonObject();
+        json.add("pack", pack);
+        return json;
+    }
+
+    @Override
+    public String getName() {
+        return "Smelting Metal pregenerated recipes";
+    }
+}
@@ -0,0 +1,103 @@
+package com.smeltingmetal.datagen;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.simibubi.create.content.processing.recipe.ProcessingRecipe;
+import com.simibubi.create.content.processing.recipe.ProcessingRecipeSerializer;
+import com.smeltingmetal.recipes.MoltenMeltingRecipe;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the recipe classes recipe planning creates back to recipe JSON.
+ */
+public class RecipeJson {
+
+    /**
+     * The JSON the recipe's serializer reads back into an equal recipe, null for recipe classes planning never creates.
+     */
+    public static @Nullable JsonObject toJson(Recipe<?> recipe) {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", String.valueOf(ForgeRegistries.RECIPE_SERIALIZERS.getKey(recipe.getSerializer())));
+        if (recipe instanceof ShapedRecipe shaped) {
+            writeShaped(json, shaped);
+        } else if (recipe instanceof ShapelessRecipe shapeless) {
+            writeShapeless(json, shapeless);
+        } else if (recipe instanceof MoltenMeltingRecipe melting) {
+            json.addProperty("block", melting.isBlock());
+            json.addProperty("experience", melting.getExperience());
+            json.addProperty("cookingtime", melting.getCookingTime());
+        } else if (ModList.get().isLoaded("create") && recipe instanceof ProcessingRecipe<?> processing) {
+            writeProcessing(json, processing);
+        } else {
+            return null;
+        }
+        return json;
+    }
+
+    private static void writeShaped(JsonObject json, ShapedRecipe recipe) {
+        if (!recipe.getGroup().isEmpty()) json.addProperty("group", recipe.getGroup());
+        json.addProperty("category", recipe.category().getSerializedName());
+
+        // One key per distinct ingredient, in order of first use
+        List<JsonElement> keys = new ArrayList<>();
+        JsonObject key = new JsonObject();
+        JsonArray pattern = new JsonArray();
+        for (int y = 0; y < recipe.getHeight(); y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < recipe.getWidth(); x++) {
+                Ingredient ingredient = recipe.getIngredients().get(x + y * recipe.getWidth());
+                if (ingredient.isEmpty()) {
+                    row.append(' ');
+                    continue;
+                }
+                JsonElement ingredientJson = ingredient.toJson();
+                int index = keys.indexOf(ingredientJson);
+                if (index < 0) {
+                    index = keys.size();
+                    keys.add(ingredientJson);
+                    key.add(String.valueOf((char) ('A' + index)), ingredientJson);
+                }
+                row.append((char) ('A' + index));
+            }
+            pattern.add(row.toString());
+        }
+        json.add("pattern", pattern);
+        json.add("key", key);
+        json.add("result", writeResult(recipe.getResultItem(RegistryAccess.EMPTY)));
+    }
+
+    private static void writeShapeless(JsonObject json, ShapelessRecipe recipe) {
+        if (!recipe.getGroup().isEmpty()) json.addProperty("group", recipe.getGroup());
+        json.addProperty("category", recipe.category().getSerializedName());
+        JsonArray ingredients = new JsonArray();
+        recipe.getIngredients().forEach(ingredient -> ingredients.add(ingredient.toJson()));
+        json.add("ingredients", ingredients);
+        json.add("result", writeResult(recipe.getResultItem(RegistryAccess.EMPTY)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writeProcessing(JsonObject json, ProcessingRecipe<?> recipe) {
+        ((ProcessingRecipeSerializer) recipe.getSerializer()).write(json, recipe);
+    }
+
+    // NBT as a string, read back by Forge's item stack parsing
+    private static JsonObject writeResult(ItemStack stack) {
+        JsonObject json = new JsonObject();
+        json.addProperty("item", String.valueOf(ForgeRegistries.ITEMS.getKey(stack.getItem())));
+        if (stack.getCount() > 1) json.addProperty("count", stack.getCount());
+        if (stack.hasTag()) json.addProperty("nbt", stack.getTag().toString());
+        return json;
+    }
+}
@@ -2,17 +2,33 @@ package com.smeltingmetal.events;
 
 import com.mojang.logging.LogUtils;
 import com.smeltingmetal.SmeltingMetalMod;
-import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.commands.ModCommands;
+import com.smeltingmetal.data.ItemClassification;
+import com.smeltingmetal.datagen.PregeneratedRecipeProvider;
 import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.ItemClassifier;
+import com.smeltingmetal.init.MaterialHandles;
+import com.smeltingmetal.init.MaterialReloadListener;
 import com.smeltingmetal.init.ModData;
 import com.smeltingmetal.init.ModItems;
+import com.smeltingmetal.network.MaterialSyncMessage;
+import com.smeltingmetal.network.ModNetwork;
+import com.smeltingmetal.recipes.GeneratedRecipeIndex;
 import com.smeltingmetal.recipes.RecipeProcessor;
 import com.smeltingmetal.recipes.RecipeReloadListener;
+import com.smeltingmetal.recipes.RecipeSyncCoordinator;
+import com.smeltingmetal.recipes.replay.RecipeDump;
+import com.smeltingmetal.recipes.replay.RecipeReplay;
 import com.smeltingmetal.utils.ModUtils;
+import com.smeltingmetal.utils.MoldCoolingScheduler;
 import com.smeltingmetal.utils.ServerEventsUtils;
+import net.minecraft.data.PackOutput;
+import net.minecraft.network.Connection;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.TickTask;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.item.ItemEntity;
@@ -20,10 +36,18 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.data.event.GatherDataEvent;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerContainerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
@@ -31,10 +55,14 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,7 +79,27 @@ public class ModEvents {
 
     @SubscribeEvent
     public static void onCommonSetup(FMLCommonSetupEvent event) {
-        event.enqueueWork(ModData::init);
+        // The config loading event normally initialized the materials already
+        event.enqueueWork(() -> {
+            if (!ModData.isInitialized()) ModData.init();
+        });
+    }
+
+    @SubscribeEvent
+    public static void onGatherData(GatherDataEvent event) {
+        Path pregenDirectory = PregeneratedRecipeProvider.getDirectory();
+        if (pregenDirectory != null) {
+            event.getGenerator().addProvider(event.includeServer(),
+                    new PregeneratedRecipeProvider(new PackOutput(pregenDirectory), PregeneratedRecipeProvider.getDumpDirectory()));
+        }
+
+        Path replayDirectory = RecipeReplay.getDirectory();
+        if (replayDirectory == null) return;
+        try {
+            RecipeReplay.run(replayDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay recipe dump " + replayDirectory, e);
+        }
     }
 
     @Mod.EventBusSubscriber(modid = SmeltingMetalMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
@@ -68,13 +116,88 @@ public class ModEvents {
             var server = event.getServer();
             SmeltingMetalMod.setServer(server);
             SmeltingMetalMod.setRecipeManager(server.getRecipeManager());
-            RecipeProcessor.process(server.getRecipeManager(), server.registryAccess());
+            // Already done once the tags of the server resources were bound
+            if (!RecipeProcessor.isProcessed(server.getRecipeManager())) {
+                RecipeProcessor.process(server.getRecipeManager(), server.registryAccess());
+            }
         }
 
         @SubscribeEvent
         public static void onAddReloadListeners(AddReloadListenerEvent event) {
             LOGGER.info("Registering recipe reload listener …");
-            event.addListener(new RecipeReloadListener(event.getRegistryAccess()));
+            MaterialReloadListener materials = new MaterialReloadListener(event.getConditionContext());
+            event.addListener(materials);
+            event.addListener(new RecipeReloadListener(event.getServerResources(), event.getRegistryAccess(), materials));
+            if (RecipeDump.getDirectory() != null) {
+                event.addListener(new RecipeDump());
+            }
+        }
+
+        // Datapack materials only exist on the server, remote clients get them before the tags and recipes
+        @SubscribeEvent
+        public static void onDatapackSync(OnDatapackSyncEvent event) {
+            MaterialSyncMessage message = new MaterialSyncMessage(ModData.getDatapackMaterials());
+            List<ServerPlayer> players = event.getPlayer() != null ? List.of(event.getPlayer()) : event.getPlayerList().getPlayers();
+            for (ServerPlayer player : players) {
+                Connection connection = player.connection.connection;
+                if (!connection.isMemoryConnection() && ModNetwork.CHANNEL.isRemotePresent(connection)) {
+                    ModNetwork.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), message);
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onRegisterCommands(RegisterCommandsEvent event) {
+            ModCommands.register(event.getDispatcher());
+        }
+
+        @SubscribeEvent
+        public static void onServerTick(TickEvent.ServerTickEvent event) {
+            if (event.phase == TickEvent.Phase.END && SmeltingMetalMod.getServer() != null) {
+                RecipeSyncCoordinator.flush(SmeltingMetalMod.getServer());
+            }
+        }
+
+        // Canceled joins never add the entity, so only the final result is tracked
+        @SubscribeEvent(priority = EventPriority.LOWEST)
+        public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+            if (!event.getLevel().isClientSide() && event.getEntity() instanceof ItemEntity itemEntity) {
+                MoldCoolingScheduler.track(itemEntity);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onLevelTick(TickEvent.LevelTickEvent event) {
+            if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel serverLevel) {
+                MoldCoolingScheduler.tick(serverLevel);
+            }
+        }
+
+        // Client levels fire this as well, the scheduler is server only
+        @SubscribeEvent
+        public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+            if (event.getLevel() instanceof ServerLevel serverLevel) {
+                MoldCoolingScheduler.onBlockChanged(serverLevel, event.getPos());
+            }
+        }
+
+        @SubscribeEvent
+        public static void onLevelUnload(LevelEvent.Unload event) {
+            if (event.getLevel() instanceof ServerLevel serverLevel) {
+                MoldCoolingScheduler.unload(serverLevel);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onTagsUpdated(TagsUpdatedEvent event) {
+            ItemClassifier.invalidate();
+            MaterialHandles.invalidate();
+            GeneratedRecipeIndex.invalidate();
+            if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
+                MaterialReloadListener.applyPending();
+                RecipeReloadListener.processPending();
+                RecipeDump.writePending();
+            }
         }
 
         @SubscribeEvent
@@ -162,13 +285,10 @@ public class ModEvents {
                 Player player = event.getEntity();
                 ItemStack mainHandItem = player.getMainHandItem();
 
-                String itemName = mainHandItem.getItem().getDescriptionId();
-                String gemName = ModData.getGemPropertiesMap().keySet().stream()
-                        .filter(itemName::contains)
-                        .findFirst()
-                        .orElse(null);
+                ItemClassification classification = ItemClassifier.get(mainHandItem.getItem());
+                String gemName = classification.gemKey();
                 if (gemName != null) {
-                    boolean isBlock = ModConfig.CONFIG.blockKeywords.get().stream().anyMatch(itemName::contains);
+                    boolean isBlock = classification.isBlock();
                     mainHandItem.shrink(1);
                     ItemStack dustStack = new ItemStack(ModItems.GEM_DUST_ITEM.get(), isBlock ? 9 : 1);
                     ModUtils.setContentToStack(dustStack, gemName);
@@ -0,0 +1,119 @@
+package com.smeltingmetal.init;
+
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.ItemClassification;
+import com.smeltingmetal.data.MaterialRole;
+import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.utils.MaterialKeywords;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Material classification of every registered item, keyed by {@link Item}.
+ * Built lazily on first use and invalidated whenever {@link ModData} is re-initialized or tags are reloaded.
+ * A table built while an invalidation lands is returned to its caller but not published.
+ * Threads planning with a scoped {@link ModData} snapshot get a separate table classified with that snapshot.
+ */
+public class ItemClassifier {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static volatile Map<Item, ItemClassification> table;
+    private static volatile Scoped scoped;
+
+    public static ItemClassification get(Item item) {
+        MaterialSnapshot materials = ModData.getScopedSnapshot();
+        Map<Item, ItemClassification> current = materials != null ? getScoped(materials) : table;
+        if (current == null) {
+            current = build();
+        }
+        return current.getOrDefault(item, ItemClassification.NONE);
+    }
+
+    public static void invalidate() {
+        generation.incrementAndGet();
+        table = null;
+    }
+
+    private static synchronized Map<Item, ItemClassification> build() {
+        if (table != null) return table;
+        int startGeneration = generation.get();
+        // A reload planned with the snapshot that is now published already classified everything
+        Scoped cached = scoped;
+        Map<Item, ItemClassification> newTable = cached != null && cached.materials() == ModData.getSnapshot()
+                ? cached.table() : classifyAll();
+        if (generation.get() == startGeneration) table = newTable;
+        return newTable;
+    }
+
+    // Never invalidated, a scoped snapshot is immutable and the next one gets its own table
+    private static Map<Item, ItemClassification> getScoped(MaterialSnapshot materials) {
+        Scoped cached = scoped;
+        if (cached != null && cached.materials() == materials) return cached.table();
+        synchronized (ItemClassifier.class) {
+            if (scoped == null || scoped.materials() != materials) scoped = new Scoped(materials, classifyAll());
+            return scoped.table();
+        }
+    }
+
+    // Classifies with the snapshot and keywords the calling thread sees
+    private static Map<Item, ItemClassification> classifyAll() {
+        long startTime = System.nanoTime();
+        Map<ResourceLocation, MaterialRole> roles = collectRoles();
+        MaterialKeywords keywords = MaterialKeywords.get();
+        Map<Item, ItemClassification> newTable = new IdentityHashMap<>();
+        for (Map.Entry<ResourceKey<Item>, Item> entry : ForgeRegistries.ITEMS.getEntries()) {
+            ResourceLocation id = entry.getKey().location();
+            ItemClassification classification = keywords.classify(id.getPath(), roles.getOrDefault(id, MaterialRole.NONE));
+            if (!classification.equals(ItemClassification.NONE)) {
+                newTable.put(entry.getValue(), classification);
+            }
+        }
+        LOGGER.debug("Classified {} material items in {} ms", newTable.size(), (System.nanoTime() - startTime) / 1_000_000);
+        return newTable;
+    }
+
+    private static Map<ResourceLocation, MaterialRole> collectRoles() {
+        MaterialSnapshot materials = ModData.getSnapshot();
+        Map<ResourceLocation, MaterialRole> roles = new HashMap<>();
+        for (MetalProperties metalProps : materials.metals().values()) {
+            putRole(roles, metalProps.ingot(), MaterialRole.INGOT);
+            putRole(roles, metalProps.block(), MaterialRole.BLOCK);
+            putRole(roles, metalProps.raw(), MaterialRole.RAW);
+            putRole(roles, metalProps.rawBlock(), MaterialRole.RAW_BLOCK);
+            putRole(roles, metalProps.nugget(), MaterialRole.NUGGET);
+            putRole(roles, metalProps.crushed(), MaterialRole.CRUSHED);
+            putRole(roles, metalProps.bucket(), MaterialRole.BUCKET);
+        }
+        for (GemProperties gemProps : materials.gems().values()) {
+            putRole(roles, gemProps.gem(), MaterialRole.GEM);
+            putRole(roles, gemProps.block(), MaterialRole.BLOCK);
+            putRole(roles, gemProps.shard(), MaterialRole.SHARD);
+        }
+        // Results last, base materials take precedence
+        for (MetalProperties metalProps : materials.metals().values()) {
+            metalProps.itemResults().values().forEach(id -> putRole(roles, id, MaterialRole.RESULT));
+            metalProps.blockResults().values().forEach(id -> putRole(roles, id, MaterialRole.RESULT));
+        }
+        for (GemProperties gemProps : materials.gems().values()) {
+            gemProps.itemResults().values().forEach(id -> putRole(roles, id, MaterialRole.RESULT));
+            gemProps.blockResults().values().forEach(id -> putRole(roles, id, MaterialRole.RESULT));
+        }
+        return roles;
+    }
+
+    private static void putRole(Map<ResourceLocation, MaterialRole> roles, ResourceLocation id, MaterialRole role) {
+        if (id != null) roles.putIfAbsent(id, role);
+    }
+
+    private record Scoped(MaterialSnapshot materials, Map<Item, ItemClassification> table) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.smeltingmetal.init;
+
+import com.smeltingmetal.data.MaterialDefinition;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Material definitions loaded from datapacks, with every tag referenced by them or by the config resolved to its
+ * first entry. Produced by {@link MaterialReloadListener} and merged with the config definitions in {@link ModData}.
+ * Remote clients get the server's copy, their own datapacks are never loaded.
+ *
+ * @param definitions Metal and gem definitions from the materials folder
+ * @param itemTags First item of each referenced item tag
+ * @param blockTags First block of each referenced block tag
+ * @param fluidTags First fluid of each referenced fluid tag
+ */
+public record MaterialDefinitions(
+    List<MaterialDefinition> definitions,
+    Map<ResourceLocation, ResourceLocation> itemTags,
+    Map<ResourceLocation, ResourceLocation> blockTags,
+    Map<ResourceLocation, ResourceLocation> fluidTags
+) {
+    public static final MaterialDefinitions EMPTY = new MaterialDefinitions(List.of(), Map.of(), Map.of(), Map.of());
+
+    public void write(FriendlyByteBuf buf) {
+        buf.writeCollection(definitions, (out, definition) -> {
+            out.writeUtf(definition.name());
+            out.writeBoolean(definition.isMetal());
+            out.writeMap(definition.properties(), FriendlyByteBuf::writeUtf, FriendlyByteBuf::writeUtf);
+            out.writeMap(definition.itemResults(), FriendlyByteBuf::writeUtf, FriendlyByteBuf::writeUtf);
+            out.writeMap(definition.blockResults(), FriendlyByteBuf::writeUtf, FriendlyByteBuf::writeUtf);
+        });
+        buf.writeMap(itemTags, FriendlyByteBuf::writeResourceLocation, FriendlyByteBuf::writeResourceLocation);
+        buf.writeMap(blockTags, FriendlyByteBuf::writeResourceLocation, FriendlyByteBuf::writeResourceLocation);
+        buf.writeMap(fluidTags, FriendlyByteBuf::writeResourceLocation, FriendlyByteBuf::writeResourceLocation);
+    }
+
+    public static MaterialDefinitions read(FriendlyByteBuf buf) {
+        List<MaterialDefinition> definitions = buf.readList(in -> new MaterialDefinition(in.readUtf(), in.readBoolean(),
+                in.readMap(LinkedHashMap::new, FriendlyByteBuf::readUtf, FriendlyByteBuf::readUtf),
+                in.readMap(LinkedHashMap::new, FriendlyByteBuf::readUtf, FriendlyByteBuf::readUtf),
+                in.readMap(LinkedHashMap::new, FriendlyByteBuf::readUtf, FriendlyByteBuf::readUtf)));
+        return new MaterialDefinitions(List.copyOf(definitions),
+                buf.readMap(FriendlyByteBuf::readResourceLocation, FriendlyByteBuf::readResourceLocation),
+                buf.readMap(FriendlyByteBuf::readResourceLocation, FriendlyByteBuf::readResourceLocation),
+                buf.readMap(FriendlyByteBuf::readResourceLocation, FriendlyByteBuf::readResourceLocation));
+    }
+}
@@ -0,0 +1,135 @@
+package com.smeltingmetal.init;
+
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.data.GemHandles;
+import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.MaterialRef;
+import com.smeltingmetal.data.MaterialRole;
+import com.smeltingmetal.data.MetalHandles;
+import com.smeltingmetal.data.MetalProperties;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Item} and {@link Fluid} references of every configured metal and gem, plus the reverse index from an item
+ * to the material and role it is configured for. Built lazily on first use and invalidated together with
+ * {@link ItemClassifier}, whenever {@link ModData} is re-initialized or server data is reloaded.
+ * Handles resolved while an invalidation lands are returned to their caller but not published.
+ */
+public class MaterialHandles {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static volatile Snapshot snapshot;
+
+    public static @Nullable MetalHandles getMetal(String name) {
+        return get().metals.get(name);
+    }
+
+    public static @Nullable GemHandles getGem(String name) {
+        return get().gems.get(name);
+    }
+
+    /**
+     * The material an item is configured for, null if it is not part of any metal or gem.
+     */
+    public static @Nullable MaterialRef getMaterial(Item item) {
+        return get().materials.get(item);
+    }
+
+    public static void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private static Snapshot get() {
+        Snapshot current = snapshot;
+        return current != null ? current : build();
+    }
+
+    private static synchronized Snapshot build() {
+        if (snapshot != null) return snapshot;
+        int startGeneration = generation.get();
+        long startTime = System.nanoTime();
+
+        MaterialSnapshot snapshotData = ModData.getSnapshot();
+        Map<String, MetalHandles> metals = new HashMap<>();
+        Map<String, GemHandles> gems = new HashMap<>();
+        Map<Item, MaterialRef> materials = new IdentityHashMap<>();
+        for (MetalProperties props : snapshotData.metals().values()) {
+            MetalHandles handles = new MetalHandles(props, item(props.ingot()), item(props.block()), item(props.raw()),
+                    item(props.rawBlock()), item(props.nugget()), item(props.crushed()), item(props.bucket()),
+                    fluid(props.moltenFluid()), items(props.itemResults()), items(props.blockResults()));
+            metals.put(props.name(), handles);
+            putMaterial(materials, handles.ingot(), props.name(), true, MaterialRole.INGOT);
+            putMaterial(materials, handles.block(), props.name(), true, MaterialRole.BLOCK);
+            putMaterial(materials, handles.raw(), props.name(), true, MaterialRole.RAW);
+            putMaterial(materials, handles.rawBlock(), props.name(), true, MaterialRole.RAW_BLOCK);
+            putMaterial(materials, handles.nugget(), props.name(), true, MaterialRole.NUGGET);
+            putMaterial(materials, handles.crushed(), props.name(), true, MaterialRole.CRUSHED);
+            putMaterial(materials, handles.bucket(), props.name(), true, MaterialRole.BUCKET);
+        }
+        for (GemProperties props : snapshotData.gems().values()) {
+            GemHandles handles = new GemHandles(props, item(props.gem()), item(props.block()), item(props.shard()),
+                    items(props.itemResults()), items(props.blockResults()));
+            gems.put(props.name(), handles);
+            putMaterial(materials, handles.gem(), props.name(), false, MaterialRole.GEM);
+            putMaterial(materials, handles.block(), props.name(), false, MaterialRole.BLOCK);
+            putMaterial(materials, handles.shard(), props.name(), false, MaterialRole.SHARD);
+        }
+        // Results last, base materials take precedence, same as the roles of ItemClassifier
+        for (MetalHandles handles : metals.values()) {
+            handles.itemResults().values().forEach(item -> putMaterial(materials, item, handles.properties().name(), true, MaterialRole.RESULT));
+            handles.blockResults().values().forEach(item -> putMaterial(materials, item, handles.properties().name(), true, MaterialRole.RESULT));
+        }
+        for (GemHandles handles : gems.values()) {
+            handles.itemResults().values().forEach(item -> putMaterial(materials, item, handles.properties().name(), false, MaterialRole.RESULT));
+            handles.blockResults().values().forEach(item -> putMaterial(materials, item, handles.properties().name(), false, MaterialRole.RESULT));
+        }
+
+        Snapshot newSnapshot = new Snapshot(metals, gems, materials);
+        if (generation.get() == startGeneration) snapshot = newSnapshot;
+        LOGGER.debug("Resolved {} metals, {} gems and {} material items in {} ms", metals.size(), gems.size(),
+                materials.size(), (System.nanoTime() - startTime) / 1_000_000);
+        return newSnapshot;
+    }
+
+    // Unknown ids resolve to air in the item registry, those are treated as missing
+    private static @Nullable Item item(@Nullable ResourceLocation id) {
+        if (id == null) return null;
+        Item item = ForgeRegistries.ITEMS.getValue(id);
+        return item == null || item == Items.AIR ? null : item;
+    }
+
+    private static @Nullable Fluid fluid(@Nullable ResourceLocation id) {
+        if (id == null) return null;
+        Fluid fluid = ForgeRegistries.FLUIDS.getValue(id);
+        return fluid == null || fluid == Fluids.EMPTY ? null : fluid;
+    }
+
+    private static Map<String, Item> items(Map<String, ResourceLocation> ids) {
+        Map<String, Item> items = new HashMap<>();
+        ids.forEach((shape, id) -> {
+            Item item = item(id);
+            if (item != null) items.put(shape, item);
+        });
+        return items;
+    }
+
+    private static void putMaterial(Map<Item, MaterialRef> materials, @Nullable Item item, String name, boolean isMetal, MaterialRole role) {
+        if (item != null) materials.putIfAbsent(item, new MaterialRef(name, isMetal, role));
+    }
+
+    private record Snapshot(Map<String, MetalHandles> metals, Map<String, GemHandles> gems, Map<Item, MaterialRef> materials) {
+    }
+}
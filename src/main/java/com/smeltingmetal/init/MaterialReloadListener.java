@@ -0,0 +1,173 @@
+package com.smeltingmetal.init;
+
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.data.MaterialDefinition;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.FileToIdConverter;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.tags.TagLoader;
+import net.minecraft.tags.TagManager;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * Loads metal and gem definitions from data/&lt;namespace&gt;/smeltingmetal/materials/*.json.
+ * Files are parsed and validated and the referenced tags are read on the background executor, invalid files are
+ * logged and skipped. After the barrier the new {@link MaterialSnapshot} is built off the server thread, but only
+ * swapped in by {@link #applyPending()} once the reload is committed and its tags are bound. A failed reload keeps
+ * the previous materials. The recipe listener of the same reload plans with the snapshot from {@link #whenBuilt()}.
+ */
+public class MaterialReloadListener implements PreparableReloadListener {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final FileToIdConverter MATERIALS = FileToIdConverter.json(MODID + "/materials");
+
+    private static volatile Pending pending;
+
+    private final ICondition.IContext conditionContext;
+    private final CompletableFuture<MaterialSnapshot> built = new CompletableFuture<>();
+
+    public MaterialReloadListener(ICondition.IContext conditionContext) {
+        this.conditionContext = conditionContext;
+    }
+
+    /**
+     * Completes with the snapshot of this reload once it is built, with null if loading or building failed.
+     */
+    public CompletableFuture<MaterialSnapshot> whenBuilt() {
+        return built;
+    }
+
+    @Override
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager,
+                                          ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler,
+                                          Executor backgroundExecutor, Executor gameExecutor) {
+        return CompletableFuture.supplyAsync(() -> load(resourceManager), backgroundExecutor)
+                .thenCompose(barrier::wait)
+                .thenAcceptAsync(definitions -> {
+                    MaterialSnapshot snapshot = ModData.build(definitions);
+                    pending = new Pending(definitions, snapshot);
+                    built.complete(snapshot);
+                }, backgroundExecutor)
+                .whenComplete((unit, e) -> built.complete(null));
+    }
+
+    /**
+     * Swaps in the materials of the last reload, called after its tags were bound and before its recipes are processed.
+     */
+    public static void applyPending() {
+        Pending current = pending;
+        if (current == null) return;
+        pending = null;
+        // Building failed, the previous materials stay in place like for a config reload
+        if (current.snapshot() != null) ModData.publish(current.definitions(), current.snapshot());
+    }
+
+    private MaterialDefinitions load(ResourceManager resourceManager) {
+        long startTime = System.nanoTime();
+        Map<String, MaterialDefinition> metals = new LinkedHashMap<>();
+        Map<String, MaterialDefinition> gems = new LinkedHashMap<>();
+        int invalid = 0;
+
+        for (Map.Entry<ResourceLocation, Resource> entry : MATERIALS.listMatchingResources(resourceManager).entrySet()) {
+            ResourceLocation id = MATERIALS.fileToId(entry.getKey());
+            try (Reader reader = entry.getValue().openAsReader()) {
+                JsonObject json = GsonHelper.parse(reader);
+                if (!CraftingHelper.processConditions(json, "conditions", conditionContext)) continue;
+
+                MaterialDefinition definition = MaterialDefinition.fromJson(id, json);
+                Map<String, MaterialDefinition> target = definition.isMetal() ? metals : gems;
+                if (target.putIfAbsent(definition.name(), definition) != null) {
+                    LOGGER.warn("Material {} from {} is already defined by another file, skipping it", definition.name(), id);
+                }
+            } catch (Exception e) {
+                invalid++;
+                LOGGER.error("Invalid material definition {}: {}", id, e.getMessage());
+            }
+        }
+
+        List<MaterialDefinition> definitions = new ArrayList<>(metals.values());
+        definitions.addAll(gems.values());
+
+        // Tags referenced by the config are resolved here as well, they are not bound yet while datapacks load
+        List<MaterialDefinition> withConfig = new ArrayList<>(definitions);
+        if (ModConfig.CONFIG.metalDefinitions != null) {
+            ModConfig.CONFIG.metalDefinitions.get().forEach(def -> withConfig.add(MaterialDefinition.fromConfig(def, true)));
+            ModConfig.CONFIG.gemDefinitions.get().forEach(def -> withConfig.add(MaterialDefinition.fromConfig(def, false)));
+        }
+        Set<ResourceLocation> itemTags = new HashSet<>();
+        Set<ResourceLocation> blockTags = new HashSet<>();
+        Set<ResourceLocation> fluidTags = new HashSet<>();
+        for (MaterialDefinition definition : withConfig) {
+            definition.properties().forEach((key, value) -> addTag(switch (key) {
+                case "block", "raw_block" -> blockTags;
+                case "molten_fluid" -> fluidTags;
+                default -> itemTags;
+            }, value));
+            definition.itemResults().values().forEach(value -> addTag(itemTags, value));
+            definition.blockResults().values().forEach(value -> addTag(itemTags, value));
+        }
+
+        MaterialDefinitions result = new MaterialDefinitions(List.copyOf(definitions),
+                resolveTags(resourceManager, Registries.ITEM, BuiltInRegistries.ITEM, itemTags),
+                resolveTags(resourceManager, Registries.BLOCK, BuiltInRegistries.BLOCK, blockTags),
+                resolveTags(resourceManager, Registries.FLUID, BuiltInRegistries.FLUID, fluidTags));
+        LOGGER.info("Loaded {} material definitions ({} invalid) and {} tags in {} ms", definitions.size(), invalid,
+                itemTags.size() + blockTags.size() + fluidTags.size(), (System.nanoTime() - startTime) / 1_000_000);
+        return result;
+    }
+
+    private static void addTag(Set<ResourceLocation> tags, String value) {
+        if (value.startsWith("#")) {
+            ResourceLocation tag = ResourceLocation.tryParse(value.substring(1));
+            if (tag != null) tags.add(tag);
+        }
+    }
+
+    // Reads the tag files of this reload, only done when a definition references a tag of the registry
+    private static <T> Map<ResourceLocation, ResourceLocation> resolveTags(ResourceManager resourceManager,
+                                                                        ResourceKey<? extends Registry<T>> registryKey,
+                                                                        Registry<T> registry, Set<ResourceLocation> tags) {
+        if (tags.isEmpty()) return Map.of();
+
+        TagLoader<ResourceLocation> loader = new TagLoader<>(
+                id -> registry.containsKey(id) ? Optional.of(id) : Optional.empty(), TagManager.getTagDir(registryKey));
+        Map<ResourceLocation, Collection<ResourceLocation>> loaded = loader.loadAndBuild(resourceManager);
+        Map<ResourceLocation, ResourceLocation> resolved = new HashMap<>();
+        for (ResourceLocation tag : tags) {
+            Collection<ResourceLocation> entries = loaded.get(tag);
+            if (entries == null || entries.isEmpty()) {
+                LOGGER.warn("Material tag #{} is empty or does not exist", tag);
+            } else {
+                resolved.put(tag, entries.iterator().next());
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public String getName() {
+        return "smeltingmetal:materials";
+    }
+
+    private record Pending(MaterialDefinitions definitions, @Nullable MaterialSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.smeltingmetal.init;
+
+import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.MetalProperties;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything {@link ModData} loaded from the config at one point in time. Never modified after construction,
+ * so it can be read from any thread while a config reload builds the next one.
+ *
+ * @param metals Metal properties by metal name
+ * @param gems Gem properties by gem name
+ * @param itemShapes Item result shapes with their keywords
+ * @param blockShapes Block result shapes with their keywords
+ */
+public record MaterialSnapshot(
+    Map<String, MetalProperties> metals,
+    Map<String, GemProperties> gems,
+    Map<String, List<String>> itemShapes,
+    Map<String, List<String>> blockShapes
+) {
+    public static final MaterialSnapshot EMPTY = new MaterialSnapshot(Map.of(), Map.of(), Map.of(), Map.of());
+
+    // Copied into plain hash maps, their iteration order is the same on every start unlike Map.copyOf
+    public MaterialSnapshot {
+        metals = Collections.unmodifiableMap(new HashMap<>(metals));
+        gems = Collections.unmodifiableMap(new HashMap<>(gems));
+        itemShapes = Collections.unmodifiableMap(new HashMap<>(itemShapes));
+        blockShapes = Collections.unmodifiableMap(new HashMap<>(blockShapes));
+    }
+}
@@ -3,27 +3,42 @@ package com.smeltingmetal.init;
 import com.mojang.logging.LogUtils;
 import com.smeltingmetal.config.ModConfig;
 import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.MaterialDefinition;
 import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.utils.MaterialKeywords;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.registries.ForgeRegistries;
-import net.minecraftforge.registries.IForgeRegistry;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Manages the properties and configurations of all metals in the Smelting Metal mod.
  * Handles loading metal configurations, applying overrides, and providing access to metal properties.
  * This includes default metal definitions and any custom metals defined in the configuration.
+ * The loaded materials are published as one immutable {@link MaterialSnapshot}, swapped in by {@link #init()}, or by
+ * {@link #publish} once a datapack reload is committed.
  */
 public class ModData {
     private static final Logger LOGGER = LogUtils.getLogger();
-    private static boolean initialized = false;
-
-    private static final Map<String, MetalProperties> METAL_PROPERTIES_MAP = new HashMap<>();
-    private static final Map<String, GemProperties> GEM_PROPERTIES_MAP = new HashMap<>();
-    private static Map<String, List<String>> ITEM_SHAPE_MAP;
-    private static Map<String, List<String>> BLOCK_SHAPE_MAP;
+    private static volatile MaterialSnapshot snapshot = MaterialSnapshot.EMPTY;
+    private static volatile MaterialDefinitions datapackMaterials = MaterialDefinitions.EMPTY;
+    // Snapshot of a reload that is planned with before it is published, only seen by the threads planning with it
+    private static final ThreadLocal<MaterialSnapshot> scopedSnapshot = new ThreadLocal<>();
+
+    // Scratch state of init(), only used while it holds the class lock
+    private static Map<String, MetalProperties> newMetals;
+    private static Map<String, GemProperties> newGems;
+    private static Map<String, List<String>> newItemShapes;
+    private static Map<String, List<String>> newBlockShapes;
+    private static RegistryIndex itemIndex;
+    private static RegistryIndex blockIndex;
+    private static RegistryIndex fluidIndex;
+    private static MaterialDefinitions tags;
     public static final List<String> DEFAULT_ITEM_SHAPES = List.of("ingot", "axe", "pickaxe", "shovel", "sword", "hoe");
     public static final List<String> DEFAULT_BLOCK_SHAPES = List.of("block", "helmet", "armor", "pants", "boots");
     public static final String CONTENT_KEY = "content";
@@ -36,50 +51,129 @@ public class ModData {
     public static final int DEFAULT_COLOR = 0xFFFFFF;
 
 
-    public static void init() {
-        if (initialized) {
-            return;
-        }
+    /**
+     * Builds a new snapshot from the config and swaps it in, readers keep the previous one until then.
+     * If building fails the previous snapshot stays in place.
+     */
+    public static synchronized void init() {
+        MaterialDefinitions datapack = datapackMaterials;
+        MaterialSnapshot newSnapshot = build(datapack);
+        if (newSnapshot != null) publish(datapack, newSnapshot);
+    }
 
-        METAL_PROPERTIES_MAP.clear();
+    /**
+     * Builds a snapshot from the given datapack materials and the config without swapping it in.
+     * Returns null if the config is not loaded or building failed.
+     */
+    public static synchronized @Nullable MaterialSnapshot build(MaterialDefinitions datapack) {
+        long startTime = System.nanoTime();
+        MaterialSnapshot newSnapshot;
 
         try {
             if (ModConfig.CONFIG == null) {
                 LOGGER.warn("Failed to get MetalsConfig instance.");
-                return;
+                return null;
             }
 
             if (ModConfig.CONFIG.metalDefinitions == null) {
                 LOGGER.warn("Config not loaded yet, skipping metal initialization.");
-                return;
+                return null;
+            }
+
+            // Config entries win over datapack files defining the same material
+            Map<String, MaterialDefinition> metalDefs = new LinkedHashMap<>();
+            Map<String, MaterialDefinition> gemDefs = new LinkedHashMap<>();
+            for (MaterialDefinition definition : datapack.definitions()) {
+                (definition.isMetal() ? metalDefs : gemDefs).put(definition.name(), definition);
+            }
+            for (String definition : ModConfig.CONFIG.metalDefinitions.get()) {
+                MaterialDefinition metal = MaterialDefinition.fromConfig(definition.trim(), true);
+                metalDefs.put(metal.name(), metal);
+            }
+            for (String definition : ModConfig.CONFIG.gemDefinitions.get()) {
+                MaterialDefinition gem = MaterialDefinition.fromConfig(definition.trim(), false);
+                gemDefs.put(gem.name(), gem);
             }
 
-            List<? extends String> metalDefs = ModConfig.CONFIG.metalDefinitions.get();
-            List<? extends String> gemDefs = ModConfig.CONFIG.gemDefinitions.get();
+            newMetals = new HashMap<>();
+            newGems = new HashMap<>();
+            newItemShapes = processResultDefinitions(ModConfig.CONFIG.itemResultDefinitions.get());
+            newBlockShapes = processResultDefinitions(ModConfig.CONFIG.blockResultDefinitions.get());
 
-            ITEM_SHAPE_MAP = processResultDefinitions(ModConfig.CONFIG.itemResultDefinitions.get());
-            BLOCK_SHAPE_MAP = processResultDefinitions(ModConfig.CONFIG.blockResultDefinitions.get());
+            // Index the registries once, every material lookup below goes through them
+            itemIndex = RegistryIndex.of(ForgeRegistries.ITEMS);
+            blockIndex = RegistryIndex.of(ForgeRegistries.BLOCKS);
+            fluidIndex = RegistryIndex.of(ForgeRegistries.FLUIDS);
+            tags = datapack;
 
             if (metalDefs.isEmpty()) {
-                LOGGER.warn("No metal definitions found in config.");
+                LOGGER.warn("No metal definitions found in config or datapacks.");
             } else {
-                for (String metalName : metalDefs) {
-                    parseMetalProperties(metalName.trim());
-                }
+                metalDefs.values().forEach(ModData::parseMetalProperties);
             }
 
             if (gemDefs.isEmpty()) {
-                LOGGER.warn("No gem definitions found in config.");
+                LOGGER.warn("No gem definitions found in config or datapacks.");
             } else {
-                for (String gemName : gemDefs) {
-                    parseGemProperties(gemName.trim());
-                }
+                gemDefs.values().forEach(ModData::parseGemProperties);
             }
+            newSnapshot = new MaterialSnapshot(newMetals, newGems, newItemShapes, newBlockShapes);
         } catch (Exception e) {
-            LOGGER.error("Failed to initialize ModMetals", e);
+            LOGGER.error("Failed to initialize ModMetals, keeping the previous materials", e);
+            return null;
+        } finally {
+            newMetals = null;
+            newGems = null;
+            newItemShapes = null;
+            newBlockShapes = null;
+            itemIndex = null;
+            blockIndex = null;
+            fluidIndex = null;
+            tags = null;
         }
 
-        initialized = true;
+        LOGGER.info("ModData initialized {} metals and {} gems in {} ms",
+                newSnapshot.metals().size(), newSnapshot.gems().size(), (System.nanoTime() - startTime) / 1_000_000);
+        return newSnapshot;
+    }
+
+    /**
+     * Swaps in a snapshot made by {@link #build} together with the datapack materials it was built from.
+     */
+    public static synchronized void publish(MaterialDefinitions datapack, MaterialSnapshot newSnapshot) {
+        datapackMaterials = datapack;
+        snapshot = newSnapshot;
+        MaterialKeywords.rebuild();
+        ItemClassifier.invalidate();
+        MaterialHandles.invalidate();
+    }
+
+    /**
+     * Rebuilds the snapshot on a background thread, used for config reloads.
+     */
+    public static CompletableFuture<Void> reloadAsync() {
+        return CompletableFuture.runAsync(ModData::init, Util.backgroundExecutor())
+                .exceptionally(e -> {
+                    LOGGER.error("Failed to reload materials", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Sets the datapack materials and rebuilds the snapshot with them, used on remote clients with the server's
+     * materials. Server reloads build with {@link #build} and {@link #publish} once the reload is committed.
+     */
+    public static synchronized void setDatapackMaterials(MaterialDefinitions materials) {
+        datapackMaterials = materials;
+        init();
+    }
+
+    public static MaterialDefinitions getDatapackMaterials() {
+        return datapackMaterials;
+    }
+
+    public static boolean isInitialized() {
+        return snapshot != MaterialSnapshot.EMPTY;
     }
 
     private static Map<String, List<String>> processResultDefinitions(List<? extends String> definitions) {
@@ -99,13 +193,8 @@ public class ModData {
         return shapeMap;
     }
 
-    private static void parseMetalProperties(String metalDef) {
-        // Parse the metal definition string
-        String[] parts = metalDef.split(",");
-        String metalName = parts[0].trim();
-        if (metalName.contains(":")) {
-            metalName = metalName.substring(metalName.indexOf(':') + 1);
-        }
+    private static void parseMetalProperties(MaterialDefinition definition) {
+        String metalName = definition.name();
 
         // Default values
         String ingotPath = metalName + "_ingot";
@@ -122,33 +211,31 @@ public class ModData {
         Map<String, ResourceLocation> itemResults = new HashMap<>();
         Map<String, ResourceLocation> blockResults = new HashMap<>();
 
-        populateResults(metalName, ITEM_SHAPE_MAP, itemResults);
-        populateResults(metalName, BLOCK_SHAPE_MAP, blockResults);
-
-        // Parse custom paths if provided
-        for (int i = 1; i < parts.length; i++) {
-            String[] keyValue = parts[i].split("=", 2);
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim();
-                switch (key) {
-                    case "ingot" -> ingotPath = value;
-                    case "block" -> blockPath = value;
-                    case "raw" -> rawPath = value;
-                    case "raw_block" -> rawBlockPath = value;
-                    case "nugget" -> nuggetPath = value;
-                    case "crushed" -> crushedPath = value;
-                    case "bucket" -> bucketPath = value;
-                    case "molten_fluid" -> moltenFluidPath = value;
-                    case "color" -> color = Integer.parseInt(value, 16);
-                    default -> LOGGER.warn("Unknown property '{}' for metal '{}'", key, metalName);
-                }
+        putResultOverrides(metalName, definition.itemResults(), newItemShapes, itemResults);
+        putResultOverrides(metalName, definition.blockResults(), newBlockShapes, blockResults);
+        populateResults(metalName, newItemShapes, itemResults);
+        populateResults(metalName, newBlockShapes, blockResults);
+
+        // Apply custom paths if provided
+        for (Map.Entry<String, String> property : definition.properties().entrySet()) {
+            String value = property.getValue();
+            switch (property.getKey()) {
+                case "ingot" -> ingotPath = value;
+                case "block" -> blockPath = value;
+                case "raw" -> rawPath = value;
+                case "raw_block" -> rawBlockPath = value;
+                case "nugget" -> nuggetPath = value;
+                case "crushed" -> crushedPath = value;
+                case "bucket" -> bucketPath = value;
+                case "molten_fluid" -> moltenFluidPath = value;
+                case "color" -> color = Integer.parseInt(value, 16);
+                default -> LOGGER.warn("Unknown property '{}' for metal '{}'", property.getKey(), metalName);
             }
         }
 
         // Find the actual resources
-        ResourceLocation ingot = findInRegistry(ForgeRegistries.ITEMS, ingotPath);
-        ResourceLocation block = findInRegistry(ForgeRegistries.BLOCKS, blockPath);
+        ResourceLocation ingot = find(itemIndex, tags.itemTags(), ingotPath);
+        ResourceLocation block = find(blockIndex, tags.blockTags(), blockPath);
 
         if (ingot == null && block == null) {
             LOGGER.error("Missing required items for metal '{}'. Failed to create MetalProperties. (ingot: {}, block: {})",
@@ -157,26 +244,22 @@ public class ModData {
         }
 
         // Find optional items or use default fallbacks
-        ResourceLocation raw = ingot == null ? null : findInRegistry(ForgeRegistries.ITEMS, rawPath);
-        ResourceLocation rawBlock = block == null ? null : findInRegistry(ForgeRegistries.BLOCKS, rawBlockPath);
-        ResourceLocation nugget = ingot == null ? null : findInRegistry(ForgeRegistries.ITEMS, nuggetPath);
-        ResourceLocation crushed = ingot == null ? null : findInRegistryOrUseDefault(ForgeRegistries.ITEMS, crushedPath, raw); // Fallback for Create compat
-        ResourceLocation bucket = block == null ? null : findInRegistryOrUseDefault(ForgeRegistries.ITEMS, bucketPath, ModItems.MOLTEN_METAL_BUCKET.getId());
-        ResourceLocation moltenFluid = block == null ? null : findInRegistry(ForgeRegistries.FLUIDS, moltenFluidPath);
+        ResourceLocation raw = ingot == null ? null : find(itemIndex, tags.itemTags(), rawPath);
+        ResourceLocation rawBlock = block == null ? null : find(blockIndex, tags.blockTags(), rawBlockPath);
+        ResourceLocation nugget = ingot == null ? null : find(itemIndex, tags.itemTags(), nuggetPath);
+        ResourceLocation crushed = ingot == null ? null : findInRegistryOrUseDefault(itemIndex, crushedPath, raw); // Fallback for Create compat
+        ResourceLocation bucket = block == null ? null : findInRegistryOrUseDefault(itemIndex, bucketPath, ModItems.MOLTEN_METAL_BUCKET.getId());
+        ResourceLocation moltenFluid = block == null ? null : find(fluidIndex, tags.fluidTags(), moltenFluidPath);
 
         // Create MetalProperties with both item and block results
         MetalProperties properties = new MetalProperties(metalName, ingot, block, raw, rawBlock, nugget,
-                crushed, bucket, moltenFluid, itemResults, blockResults, color);
-        METAL_PROPERTIES_MAP.put(metalName, properties);
+                crushed, bucket, moltenFluid, Collections.unmodifiableMap(itemResults), Collections.unmodifiableMap(blockResults), color);
+        newMetals.put(metalName, properties);
         LOGGER.info("Created MetalProperties for metal: {}", metalName);
     }
 
-    private static void parseGemProperties(String gemDef) {
-        String[] parts = gemDef.split(",");
-        String gemName = parts[0].trim();
-        if (gemName.contains(":")) {
-            gemName = gemName.substring(gemName.indexOf(':') + 1);
-        }
+    private static void parseGemProperties(MaterialDefinition definition) {
+        String gemName = definition.name();
         int color = DEFAULT_COLOR;
 
         // Default values
@@ -188,28 +271,26 @@ public class ModData {
         Map<String, ResourceLocation> itemResults = new HashMap<>();
         Map<String, ResourceLocation> blockResults = new HashMap<>();
 
-        populateResults(gemName, ITEM_SHAPE_MAP, itemResults);
-        populateResults(gemName, BLOCK_SHAPE_MAP, blockResults);
-
-        // Parse custom paths if provided
-        for (int i = 1; i < parts.length; i++) {
-            String[] keyValue = parts[i].split("=", 2);
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim();
-                switch (key) {
-                    case "gem" -> gemPath = value;
-                    case "block" -> blockPath = value;
-                    case "shard" -> shardPath = value;
-                    case "color" -> color = Integer.parseInt(value, 16);
-                    default -> LOGGER.warn("Unknown property '{}' for gem '{}'", key, gemName);
-                }
+        putResultOverrides(gemName, definition.itemResults(), newItemShapes, itemResults);
+        putResultOverrides(gemName, definition.blockResults(), newBlockShapes, blockResults);
+        populateResults(gemName, newItemShapes, itemResults);
+        populateResults(gemName, newBlockShapes, blockResults);
+
+        // Apply custom paths if provided
+        for (Map.Entry<String, String> property : definition.properties().entrySet()) {
+            String value = property.getValue();
+            switch (property.getKey()) {
+                case "gem" -> gemPath = value;
+                case "block" -> blockPath = value;
+                case "shard" -> shardPath = value;
+                case "color" -> color = Integer.parseInt(value, 16);
+                default -> LOGGER.warn("Unknown property '{}' for gem '{}'", property.getKey(), gemName);
             }
         }
 
-        ResourceLocation gem = findInRegistry(ForgeRegistries.ITEMS, gemPath);
-        ResourceLocation block = findInRegistry(ForgeRegistries.BLOCKS, blockPath);
-        ResourceLocation shard = findInRegistry(ForgeRegistries.ITEMS, shardPath);
+        ResourceLocation gem = find(itemIndex, tags.itemTags(), gemPath);
+        ResourceLocation block = find(blockIndex, tags.blockTags(), blockPath);
+        ResourceLocation shard = find(itemIndex, tags.itemTags(), shardPath);
 
         if (gem == null && block == null) {
             LOGGER.error("Missing required items for gem '{}'. Failed to create GemProperties. (gem: {}, block: {})",
@@ -217,31 +298,27 @@ public class ModData {
             return;
         }
 
-        GemProperties properties = new GemProperties(gemName, gem, block, shard, itemResults, blockResults, color);
-        GEM_PROPERTIES_MAP.put(gemName, properties);
+        GemProperties properties = new GemProperties(gemName, gem, block, shard,
+                Collections.unmodifiableMap(itemResults), Collections.unmodifiableMap(blockResults), color);
+        newGems.put(gemName, properties);
         LOGGER.info("Created GemProperties for gem: {}", gemName);
     }
 
-    private static <T> ResourceLocation findInRegistryContaining(IForgeRegistry<T> registry, List<String> keywords) {
-        return registry.getValues().stream()
-                .map(registry::getKey)
-                .filter(Objects::nonNull)
-                .filter(key -> keywords.stream().allMatch(word -> key.getPath().contains(word)))
-                .findFirst()
-                .orElse(null);
-    }
-
-    private static <T> ResourceLocation findInRegistry(IForgeRegistry<T> registry, String suffix) {
-        return registry.getValues().stream()
-                .map(registry::getKey)
-                .filter(Objects::nonNull)
-                .filter(key -> key.getPath().equals(suffix))
-                .findFirst()
-                .orElse(null);
+    // Plain paths match any namespace, full ids have to exist and #tags resolve to their first entry
+    private static ResourceLocation find(RegistryIndex index, Map<ResourceLocation, ResourceLocation> tagEntries, String value) {
+        if (value.startsWith("#")) {
+            ResourceLocation tag = ResourceLocation.tryParse(value.substring(1));
+            return tag == null ? null : tagEntries.get(tag);
+        }
+        if (value.indexOf(':') >= 0) {
+            ResourceLocation id = ResourceLocation.tryParse(value);
+            return id != null && index.contains(id) ? id : null;
+        }
+        return index.findByPath(value);
     }
 
-    private static <T> ResourceLocation findInRegistryOrUseDefault(IForgeRegistry<T> registry, String suffix, ResourceLocation defaultItem) {
-        ResourceLocation foundItem = findInRegistry(registry, suffix);
+    private static ResourceLocation findInRegistryOrUseDefault(RegistryIndex index, String path, ResourceLocation defaultItem) {
+        ResourceLocation foundItem = find(index, tags.itemTags(), path);
         if (foundItem != null) {
             return foundItem;
         }
@@ -249,32 +326,75 @@ public class ModData {
         return defaultItem;
     }
 
+    private static void putResultOverrides(String materialName, Map<String, String> overrides, Map<String, List<String>> shapeMap,
+                                           Map<String, ResourceLocation> results) {
+        overrides.forEach((shape, value) -> {
+            ResourceLocation item = find(itemIndex, tags.itemTags(), value);
+            if (!shapeMap.containsKey(shape)) {
+                LOGGER.warn("Unknown result shape '{}' for material '{}'", shape, materialName);
+            } else if (item == null) {
+                LOGGER.warn("Result '{}' of material '{}' not found: {}", shape, materialName, value);
+            } else {
+                results.put(shape, item);
+            }
+        });
+    }
+
     private static void populateResults(String metalName, Map<String, List<String>> shapeMap, Map<String, ResourceLocation> results) {
-        shapeMap.entrySet().stream()
-                .filter(shapeSet -> !results.containsKey(shapeSet.getKey()))
-                .forEach(shapeSet -> shapeSet.getValue().stream()
-                        .map(shapeValue -> {
-                            ResourceLocation item = findInRegistry(ForgeRegistries.ITEMS, metalName + "_" + shapeValue);
-                            return item != null ? item : findInRegistryContaining(ForgeRegistries.ITEMS, List.of(metalName, "_" + shapeValue));
-                        })
-                        .filter(Objects::nonNull)
-                        .findFirst()
-                        .ifPresent(loc -> results.put(shapeSet.getKey(), loc)));
+        shapeMap.forEach((shape, shapeValues) -> {
+            if (results.containsKey(shape)) return;
+            ResourceLocation item = itemIndex.findMaterialShape(metalName, shapeValues);
+            if (item != null) results.put(shape, item);
+        });
+    }
+
+    /**
+     * The current materials, one consistent view for readers that need more than one of the maps below.
+     * Inside {@link #withSnapshot} this is the scoped snapshot instead.
+     */
+    public static MaterialSnapshot getSnapshot() {
+        MaterialSnapshot scoped = scopedSnapshot.get();
+        return scoped != null ? scoped : snapshot;
+    }
+
+    /**
+     * The snapshot set by {@link #withSnapshot} on this thread, null outside of it.
+     */
+    public static @Nullable MaterialSnapshot getScopedSnapshot() {
+        return scopedSnapshot.get();
+    }
+
+    /**
+     * Runs the task with every material lookup of this thread reading the given snapshot, used to plan the recipes
+     * of a reload with its materials before they are published.
+     */
+    public static <T> T withSnapshot(MaterialSnapshot materials, Supplier<T> task) {
+        MaterialSnapshot previous = scopedSnapshot.get();
+        scopedSnapshot.set(materials);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                scopedSnapshot.remove();
+            } else {
+                scopedSnapshot.set(previous);
+            }
+        }
     }
 
     public static Map<String, List<String>> getItemShapeMap() {
-        return ITEM_SHAPE_MAP;
+        return getSnapshot().itemShapes();
     }
 
     public static Map<String, List<String>> getBlockShapeMap() {
-        return BLOCK_SHAPE_MAP;
+        return getSnapshot().blockShapes();
     }
 
     public static Map<String, MetalProperties> getMetalPropertiesMap() {
-        return METAL_PROPERTIES_MAP;
+        return getSnapshot().metals();
     }
 
     public static Map<String, GemProperties> getGemPropertiesMap() {
-        return GEM_PROPERTIES_MAP;
+        return getSnapshot().gems();
     }
-}
\ No newline at end of file
+}
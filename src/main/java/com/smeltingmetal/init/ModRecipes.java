@@ -1,11 +1,17 @@
 package com.smeltingmetal.init;
 
 import com.smeltingmetal.SmeltingMetalMod;
+import com.smeltingmetal.recipes.MoldHardeningRecipe;
+import com.smeltingmetal.recipes.MoldSmithingRecipe;
+import com.smeltingmetal.recipes.MoldUpgradeRecipe;
+import com.smeltingmetal.recipes.MoltenMeltingRecipe;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SimpleCraftingRecipeSerializer;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
 
 /**
  * Handles the registration of all custom recipe serializers for the Smelting Metal mod.
@@ -18,6 +24,17 @@ public class ModRecipes {
     public static final DeferredRegister<RecipeType<?>> RECIPE_TYPES =
             DeferredRegister.create(ForgeRegistries.RECIPE_TYPES, SmeltingMetalMod.MODID);
 
+    public static final RegistryObject<RecipeSerializer<MoltenMeltingRecipe>> MOLTEN_SMELTING =
+            SERIALIZERS.register("molten_smelting", () -> new MoltenMeltingRecipe.Serializer(RecipeType.SMELTING, 200));
+    public static final RegistryObject<RecipeSerializer<MoltenMeltingRecipe>> MOLTEN_BLASTING =
+            SERIALIZERS.register("molten_blasting", () -> new MoltenMeltingRecipe.Serializer(RecipeType.BLASTING, 100));
+    public static final RegistryObject<RecipeSerializer<MoldHardeningRecipe>> MOLD_HARDENING =
+            SERIALIZERS.register("mold_hardening", MoldHardeningRecipe.Serializer::new);
+    public static final RegistryObject<RecipeSerializer<MoldUpgradeRecipe>> MOLD_NETHERITE_UPGRADE =
+            SERIALIZERS.register("mold_netherite_upgrade", () -> new SimpleCraftingRecipeSerializer<>(MoldUpgradeRecipe::new));
+    public static final RegistryObject<RecipeSerializer<MoldSmithingRecipe>> MOLD_NETHERITE_SMITHING =
+            SERIALIZERS.register("mold_netherite_smithing", MoldSmithingRecipe.Serializer::new);
+
     public static void register(IEventBus eventBus) {
         SERIALIZERS.register(eventBus);
         RECIPE_TYPES.register(eventBus);
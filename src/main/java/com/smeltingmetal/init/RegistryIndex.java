@@ -0,0 +1,87 @@
+package com.smeltingmetal.init;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.registries.IForgeRegistry;
+
+import java.util.*;
+
+/**
+ * Path index over a single registry, built once per {@link ModData#init()}.
+ * Exact path lookups are a single hash lookup, and "path contains all keywords" lookups
+ * reuse per-keyword match lists instead of streaming the whole registry every time.
+ * Both lookups return the first match in registry order, same as a linear scan would.
+ */
+public class RegistryIndex {
+    private final List<ResourceLocation> keys;
+    private final Set<ResourceLocation> ids;
+    private final Map<String, ResourceLocation> byPath = new HashMap<>();
+    private final Map<String, List<ResourceLocation>> byKeyword = new HashMap<>();
+
+    public RegistryIndex(List<ResourceLocation> keys) {
+        this.keys = keys;
+        this.ids = new HashSet<>(keys);
+        for (ResourceLocation key : keys) {
+            byPath.putIfAbsent(key.getPath(), key);
+        }
+    }
+
+    public static <T> RegistryIndex of(IForgeRegistry<T> registry) {
+        List<ResourceLocation> keys = new ArrayList<>();
+        for (T value : registry.getValues()) {
+            ResourceLocation key = registry.getKey(value);
+            if (key != null) keys.add(key);
+        }
+        return new RegistryIndex(keys);
+    }
+
+    public boolean contains(ResourceLocation id) {
+        return ids.contains(id);
+    }
+
+    public ResourceLocation findByPath(String path) {
+        return byPath.get(path);
+    }
+
+    public ResourceLocation findContaining(List<String> keywords) {
+        if (keywords.isEmpty()) {
+            return keys.isEmpty() ? null : keys.get(0);
+        }
+
+        // Walk the shortest match list, it is already in registry order
+        List<ResourceLocation> candidates = null;
+        for (String keyword : keywords) {
+            List<ResourceLocation> matches = getKeywordMatches(keyword);
+            if (candidates == null || matches.size() < candidates.size()) {
+                candidates = matches;
+            }
+        }
+
+        for (ResourceLocation key : candidates) {
+            String path = key.getPath();
+            if (keywords.stream().allMatch(path::contains)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The item of a material in a result shape, as {@link ModData#init()} resolves it: the first shape keyword with
+     * an exact "material_keyword" path, or else a path containing both the material and "_keyword".
+     * Checked keyword by keyword, so an earlier keyword's containing match wins over a later exact one.
+     */
+    public ResourceLocation findMaterialShape(String material, List<String> shapeKeywords) {
+        for (String keyword : shapeKeywords) {
+            ResourceLocation exact = findByPath(material + "_" + keyword);
+            ResourceLocation found = exact != null ? exact : findContaining(List.of(material, "_" + keyword));
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    private List<ResourceLocation> getKeywordMatches(String keyword) {
+        return byKeyword.computeIfAbsent(keyword, word -> keys.stream()
+                .filter(key -> key.getPath().contains(word))
+                .toList());
+    }
+}
@@ -0,0 +1,21 @@
+package com.smeltingmetal.mixin;
+
+import com.smeltingmetal.recipes.RecipeRegenerationSync;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.world.item.crafting.Recipe;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+
+/**
+ * Adds the regenerated recipes before the client recipe manager, the recipe book and recipe viewers see the list.
+ */
+@Mixin(ClientPacketListener.class)
+public abstract class ClientPacketListenerMixin {
+
+    @ModifyArg(method = "handleUpdateRecipes",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/item/crafting/RecipeManager;replaceRecipes(Ljava/lang/Iterable;)V"))
+    private Iterable<Recipe<?>> smeltingmetal$addRegeneratedRecipes(Iterable<Recipe<?>> recipes) {
+        return RecipeRegenerationSync.regenerate(recipes);
+    }
+}
@@ -0,0 +1,15 @@
+package com.smeltingmetal.mixin;
+
+import net.minecraft.world.item.crafting.Ingredient;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * The values of a vanilla {@link Ingredient}, used by {@link com.smeltingmetal.recipes.IngredientItems} to resolve
+ * tag values against tags that are not bound yet.
+ */
+@Mixin(Ingredient.class)
+public interface IngredientAccessor {
+    @Accessor("values")
+    Ingredient.Value[] smeltingmetal$getValues();
+}
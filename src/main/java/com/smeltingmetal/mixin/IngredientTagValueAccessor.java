@@ -0,0 +1,15 @@
+package com.smeltingmetal.mixin;
+
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * The tag of an ingredient tag value, see {@link IngredientAccessor}.
+ */
+@Mixin(targets = "net.minecraft.world.item.crafting.Ingredient$TagValue")
+public interface IngredientTagValueAccessor {
+    @Accessor("tag")
+    TagKey<Item> smeltingmetal$getTag();
+}
@@ -0,0 +1,25 @@
+package com.smeltingmetal.mixin;
+
+import com.smeltingmetal.recipes.RecipeSyncCoordinator;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports the encoded size of recipe packets, measured on the encode every connection does anyway.
+ */
+@Mixin(PacketEncoder.class)
+public abstract class PacketEncoderMixin {
+
+    @Inject(method = "encode(Lio/netty/channel/ChannelHandlerContext;Lnet/minecraft/network/protocol/Packet;Lio/netty/buffer/ByteBuf;)V",
+            at = @At("TAIL"))
+    private void smeltingmetal$measureRecipes(ChannelHandlerContext context, Packet<?> packet, ByteBuf out, CallbackInfo ci) {
+        if (packet instanceof ClientboundUpdateRecipesPacket) RecipeSyncCoordinator.onEncoded(packet, out.readableBytes());
+    }
+}
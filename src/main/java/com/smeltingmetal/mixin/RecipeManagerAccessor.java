@@ -0,0 +1,29 @@
+package com.smeltingmetal.mixin;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.Map;
+
+/**
+ * Direct access to the recipe maps of a {@link RecipeManager}, used by {@link com.smeltingmetal.recipes.RecipeBatch}
+ * to swap both maps at once.
+ */
+@Mixin(RecipeManager.class)
+public interface RecipeManagerAccessor {
+    @Accessor("recipes")
+    Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> smeltingmetal$getRecipes();
+
+    @Accessor("recipes")
+    void smeltingmetal$setRecipes(Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes);
+
+    @Accessor("byName")
+    Map<ResourceLocation, Recipe<?>> smeltingmetal$getByName();
+
+    @Accessor("byName")
+    void smeltingmetal$setByName(Map<ResourceLocation, Recipe<?>> byName);
+}
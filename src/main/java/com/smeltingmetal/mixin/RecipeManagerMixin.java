@@ -0,0 +1,46 @@
+package com.smeltingmetal.mixin;
+
+import com.mojang.datafixers.util.Pair;
+import com.smeltingmetal.recipes.GeneratedRecipeIndex;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers recipe lookups from {@link GeneratedRecipeIndex} when it covers the manager's recipes,
+ * everything else keeps the vanilla scan.
+ */
+@Mixin(RecipeManager.class)
+public abstract class RecipeManagerMixin {
+    @Shadow
+    private Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes;
+
+    @Inject(method = "getRecipeFor(Lnet/minecraft/world/item/crafting/RecipeType;Lnet/minecraft/world/Container;Lnet/minecraft/world/level/Level;)Ljava/util/Optional;",
+            at = @At("HEAD"), cancellable = true)
+    private <C extends Container, T extends Recipe<C>> void smeltingmetal$findIndexed(RecipeType<T> type, C container, Level level,
+                                                                                     CallbackInfoReturnable<Optional<T>> cir) {
+        Optional<T> recipe = GeneratedRecipeIndex.find(recipes, type, container, level);
+        if (recipe != null) cir.setReturnValue(recipe);
+    }
+
+    @Inject(method = "getRecipeFor(Lnet/minecraft/world/item/crafting/RecipeType;Lnet/minecraft/world/Container;Lnet/minecraft/world/level/Level;Lnet/minecraft/resources/ResourceLocation;)Ljava/util/Optional;",
+            at = @At("HEAD"), cancellable = true)
+    private <C extends Container, T extends Recipe<C>> void smeltingmetal$findIndexedWithLast(RecipeType<T> type, C container, Level level,
+                                                                                             @Nullable ResourceLocation lastRecipe,
+                                                                                             CallbackInfoReturnable<Optional<Pair<ResourceLocation, T>>> cir) {
+        Optional<T> recipe = GeneratedRecipeIndex.find(recipes, type, container, level, lastRecipe);
+        if (recipe != null) cir.setReturnValue(recipe.map(found -> Pair.of(found.getId(), found)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.smeltingmetal.mixin;
+
+import com.smeltingmetal.recipes.RecipeRegenerationSync;
+import net.minecraft.network.Connection;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+/**
+ * Every packet to a player passes here, recipe packets may leave out the recipes the client can regenerate.
+ */
+@Mixin(ServerGamePacketListenerImpl.class)
+public abstract class ServerGamePacketListenerImplMixin {
+    @Shadow
+    @Final
+    public Connection connection;
+
+    @ModifyVariable(method = "send(Lnet/minecraft/network/protocol/Packet;Lnet/minecraft/network/PacketSendListener;)V",
+            at = @At("HEAD"), argsOnly = true)
+    private Packet<?> smeltingmetal$leaveOutGeneratedRecipes(Packet<?> packet) {
+        return RecipeRegenerationSync.prepare(connection, packet);
+    }
+}
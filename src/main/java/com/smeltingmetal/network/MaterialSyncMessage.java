@@ -0,0 +1,28 @@
+package com.smeltingmetal.network;
+
+import com.smeltingmetal.init.MaterialDefinitions;
+import com.smeltingmetal.init.ModData;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * The server's datapack materials, sent on login and after every reload before the tags and recipes.
+ */
+public record MaterialSyncMessage(MaterialDefinitions materials) {
+
+    public void encode(FriendlyByteBuf buf) {
+        materials.write(buf);
+    }
+
+    public static MaterialSyncMessage decode(FriendlyByteBuf buf) {
+        return new MaterialSyncMessage(MaterialDefinitions.read(buf));
+    }
+
+    // Applied on the main thread before the recipe packet that follows is handled
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        ModData.setDatapackMaterials(materials);
+        context.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,40 @@
+package com.smeltingmetal.network;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * The mod's network channel. It is optional on both sides, so clients and servers without the mod can still connect.
+ */
+public class ModNetwork {
+    private static final String PROTOCOL_VERSION = "1";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            new ResourceLocation(MODID, "main"),
+            () -> PROTOCOL_VERSION,
+            NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION),
+            NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION));
+
+    public static void register() {
+        int id = 0;
+        CHANNEL.messageBuilder(RecipeDescriptorMessage.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(RecipeDescriptorMessage::encode)
+                .decoder(RecipeDescriptorMessage::decode)
+                .consumerMainThread(RecipeDescriptorMessage::handle)
+                .add();
+        CHANNEL.messageBuilder(RecipeResyncMessage.class, id++, NetworkDirection.PLAY_TO_SERVER)
+                .encoder(RecipeResyncMessage::encode)
+                .decoder(RecipeResyncMessage::decode)
+                .consumerMainThread(RecipeResyncMessage::handle)
+                .add();
+        CHANNEL.messageBuilder(MaterialSyncMessage.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(MaterialSyncMessage::encode)
+                .decoder(MaterialSyncMessage::decode)
+                .consumerMainThread(MaterialSyncMessage::handle)
+                .add();
+    }
+}
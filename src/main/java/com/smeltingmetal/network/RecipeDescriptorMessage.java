@@ -0,0 +1,27 @@
+package com.smeltingmetal.network;
+
+import com.smeltingmetal.recipes.PlanDescriptor;
+import com.smeltingmetal.recipes.RecipeRegenerationSync;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Sent right before a recipe packet that left out the generated recipes.
+ */
+public record RecipeDescriptorMessage(PlanDescriptor descriptor) {
+
+    public void encode(FriendlyByteBuf buf) {
+        descriptor.write(buf);
+    }
+
+    public static RecipeDescriptorMessage decode(FriendlyByteBuf buf) {
+        return new RecipeDescriptorMessage(PlanDescriptor.read(buf));
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        RecipeRegenerationSync.onDescriptor(descriptor);
+        context.get().setPacketHandled(true);
+    }
+}
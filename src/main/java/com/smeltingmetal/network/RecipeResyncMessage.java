@@ -0,0 +1,27 @@
+package com.smeltingmetal.network;
+
+import com.smeltingmetal.recipes.RecipeRegenerationSync;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Sent by a client that could not regenerate the recipes described by the server.
+ */
+public record RecipeResyncMessage() {
+
+    public void encode(FriendlyByteBuf buf) {
+    }
+
+    public static RecipeResyncMessage decode(FriendlyByteBuf buf) {
+        return new RecipeResyncMessage();
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        ServerPlayer player = context.get().getSender();
+        if (player != null) RecipeRegenerationSync.requestFullSync(player);
+        context.get().setPacketHandled(true);
+    }
+}
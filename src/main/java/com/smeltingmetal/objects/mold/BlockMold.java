@@ -1,7 +1,10 @@
 package com.smeltingmetal.objects.mold;
 
+import com.smeltingmetal.data.MaterialRef;
+import com.smeltingmetal.data.MaterialRole;
 import com.smeltingmetal.data.MaterialType;
 import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.MaterialHandles;
 import com.smeltingmetal.init.ModData;
 import com.smeltingmetal.objects.gem.GemDustItem;
 import com.smeltingmetal.objects.molten.MoltenMetalBucket;
@@ -17,7 +20,6 @@ import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.BucketItem;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -30,7 +32,6 @@ import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.level.storage.loot.LootParams;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
 import net.minecraft.world.phys.BlockHitResult;
-import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.List;
 
@@ -148,13 +149,10 @@ public class BlockMold extends Block implements EntityBlock {
                 result = EntityEventsUtils.coolBlockMold(pos, player, be, heldStack, level);
                 sound = SoundEvents.GENERIC_EXTINGUISH_FIRE;
             } else if (!be.hasContent()) {
-                for (MetalProperties metalProps : ModUtils.getAllMetalProperties().values()) {
-                    Item bucket = ForgeRegistries.ITEMS.getValue(metalProps.bucket());
-                    if (bucket == bucketItem) {
-                        result = EntityEventsUtils.fillBlockMold(player, be, heldStack, metalProps.name());
-                        sound = SoundEvents.BUCKET_EMPTY_LAVA;
-                        break;
-                    }
+                MaterialRef material = MaterialHandles.getMaterial(bucketItem);
+                if (material != null && material.isMetal() && material.role() == MaterialRole.BUCKET) {
+                    result = EntityEventsUtils.fillBlockMold(player, be, heldStack, material.name());
+                    sound = SoundEvents.BUCKET_EMPTY_LAVA;
                 }
             }
         } else if (heldStack.getItem() instanceof GemDustItem && !be.hasContent()) {
@@ -171,7 +169,7 @@ public class BlockMold extends Block implements EntityBlock {
                 level.playSound(null, pos, sound, SoundSource.BLOCKS, 1.0F, 1.0F);
             }
             BlockState currentState = level.getBlockState(pos);
-            int content = ModUtils.getContentId(be.getContent());
+            int content = be.getContentType();
             int shape = ModUtils.getBlockShapeId(be.getShape());
 
             if (currentState.getValue(CONTENT) != content || currentState.getValue(SHAPE) != shape) {
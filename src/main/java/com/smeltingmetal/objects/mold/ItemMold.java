@@ -3,12 +3,9 @@ package com.smeltingmetal.objects.mold;
 import com.smeltingmetal.data.MaterialType;
 import com.smeltingmetal.init.ModData;
 import com.smeltingmetal.objects.generic.MetalItem;
-import com.smeltingmetal.utils.EntityEventsUtils;
 import com.smeltingmetal.utils.ModUtils;
 import net.minecraft.client.renderer.item.ItemProperties;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.DistExecutor;
 
@@ -49,11 +46,6 @@ public class ItemMold extends MetalItem {
                 });
     }
 
-    @Override
-    public boolean onEntityItemUpdate(ItemStack stack, ItemEntity entity) {
-        return EntityEventsUtils.handleStackAutoCooling(stack, entity);
-    }
-
     public MaterialType getMaterialType() {
         return materialType;
     }
@@ -0,0 +1,140 @@
+package com.smeltingmetal.recipes;
+
+import com.simibubi.create.content.kinetics.crusher.CrushingRecipe;
+import com.smeltingmetal.data.GemProperties;
+import com.smeltingmetal.data.ItemClassification;
+import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.ItemClassifier;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.*;
+
+/**
+ * Recipes the processor replaces or removes, bucketed by recipe type and material in a single pass.
+ * The result of every recipe is resolved and classified once, and the ingredient blacklist check
+ * only runs for recipes producing a metal or gem item.
+ * The sets derived from the properties are only read while classifying, so chunks can run in parallel.
+ */
+public class ClassifiedRecipes {
+    public final List<Recipe<?>> metalMelting = new ArrayList<>();
+    public final List<Recipe<?>> metalCrushing = new ArrayList<>();
+    public final List<Recipe<?>> metalNuggetCrafting = new ArrayList<>();
+    public final List<Recipe<?>> metalResultCrafting = new ArrayList<>();
+    public final List<Recipe<?>> gemResultCrafting = new ArrayList<>();
+    public final List<Recipe<?>> gemCrushing = new ArrayList<>();
+    public final List<Recipe<?>> ingotCrafting = new ArrayList<>();
+
+    /**
+     * Recipes are classified in chunks on the planner, the chunk buckets are concatenated in input order.
+     * Ingredient items come from the given resolver, so a reload can classify before its tags are bound.
+     */
+    public static ClassifiedRecipes classify(List<Recipe<?>> recipes, RegistryAccess registryAccess, boolean isCreateLoaded,
+                                             IngredientItems ingredientItems, ParallelPlanner planner) {
+        MaterialSnapshot materials = ModData.getSnapshot();
+        Set<ResourceLocation> ingotIds = new HashSet<>();
+        Set<ResourceLocation> metalResultIds = new HashSet<>();
+        for (MetalProperties metalProps : materials.metals().values()) {
+            if (metalProps.ingot() != null) ingotIds.add(metalProps.ingot());
+            metalProps.itemResults().forEach((shape, id) -> {
+                if (!"ingot".equals(shape)) metalResultIds.add(id);
+            });
+            metalProps.blockResults().forEach((shape, id) -> {
+                if (!"block".equals(shape)) metalResultIds.add(id);
+            });
+        }
+        Map<String, Set<ResourceLocation>> gemResultIds = new HashMap<>();
+        for (Map.Entry<String, GemProperties> entry : materials.gems().entrySet()) {
+            Set<ResourceLocation> ids = new HashSet<>(entry.getValue().itemResults().values());
+            ids.addAll(entry.getValue().blockResults().values());
+            gemResultIds.put(entry.getKey(), ids);
+        }
+
+        ClassifiedRecipes classified = new ClassifiedRecipes();
+        for (ClassifiedRecipes chunk : planner.mapChunks(recipes, part -> classifyChunk(part, registryAccess, isCreateLoaded,
+                ingredientItems, ingotIds, metalResultIds, gemResultIds))) {
+            classified.addAll(chunk);
+        }
+        return classified;
+    }
+
+    private static ClassifiedRecipes classifyChunk(List<Recipe<?>> recipes, RegistryAccess registryAccess, boolean isCreateLoaded,
+                                                   IngredientItems ingredientItems, Set<ResourceLocation> ingotIds,
+                                                   Set<ResourceLocation> metalResultIds, Map<String, Set<ResourceLocation>> gemResultIds) {
+        ClassifiedRecipes classified = new ClassifiedRecipes();
+        for (Recipe<?> recipe : recipes) {
+            ItemStack resultStack = recipe.getResultItem(registryAccess);
+            if (resultStack.isEmpty()) continue;
+            Item resultItem = resultStack.getItem();
+            ResourceLocation resultId = ForgeRegistries.ITEMS.getKey(resultItem);
+            RecipeType<?> type = recipe.getType();
+
+            if (type == RecipeType.CRAFTING && ingotIds.contains(resultId)) {
+                classified.ingotCrafting.add(recipe);
+            }
+
+            ItemClassification classification = ItemClassifier.get(resultItem);
+            if (!classification.isMetal() && !classification.isGem()) continue;
+            if (!isAllowed(recipe, classification, ingredientItems)) continue;
+
+            boolean isCooking = type == RecipeType.SMELTING || type == RecipeType.BLASTING;
+            boolean isCrushing = isCreateLoaded && recipe instanceof CrushingRecipe;
+            if (classification.isMetal()) {
+                if (isCooking) classified.metalMelting.add(recipe);
+                if (isCrushing) classified.metalCrushing.add(recipe);
+                if (recipe instanceof ShapedRecipe shaped && isNuggetGrid(shaped, ingredientItems)) classified.metalNuggetCrafting.add(recipe);
+                if ((isCooking || type == RecipeType.CRAFTING) && metalResultIds.contains(resultId)) {
+                    classified.metalResultCrafting.add(recipe);
+                }
+            }
+            if (classification.isGem()) {
+                if (isCrushing) classified.gemCrushing.add(recipe);
+                Set<ResourceLocation> gemResults = gemResultIds.get(classification.contentKey());
+                if ((isCooking || type == RecipeType.CRAFTING) && gemResults != null && gemResults.contains(resultId)) {
+                    classified.gemResultCrafting.add(recipe);
+                }
+            }
+        }
+        return classified;
+    }
+
+    public void addAll(ClassifiedRecipes other) {
+        metalMelting.addAll(other.metalMelting);
+        metalCrushing.addAll(other.metalCrushing);
+        metalNuggetCrafting.addAll(other.metalNuggetCrafting);
+        metalResultCrafting.addAll(other.metalResultCrafting);
+        gemResultCrafting.addAll(other.gemResultCrafting);
+        gemCrushing.addAll(other.gemCrushing);
+        ingotCrafting.addAll(other.ingotCrafting);
+    }
+
+    // Same rules as RecipeUtils.isRecipeAllowed, with the result already classified
+    private static boolean isAllowed(Recipe<?> recipe, ItemClassification resultClassification, IngredientItems ingredientItems) {
+        if (recipe.getIngredients().isEmpty() || recipe.getIngredients().get(0).isEmpty()) return true;
+        for (ItemStack stack : ingredientItems.get(recipe.getIngredients().get(0))) {
+            if (ItemClassifier.get(stack.getItem()).blacklisted()) return false;
+        }
+        return !resultClassification.blacklisted();
+    }
+
+    private static boolean isNuggetGrid(ShapedRecipe shaped, IngredientItems ingredientItems) {
+        if (shaped.getWidth() != 3 || shaped.getHeight() != 3) return false;
+        for (Ingredient ingredient : shaped.getIngredients()) {
+            if (ingredient.isEmpty()) return false;
+            for (ItemStack stack : ingredientItems.get(ingredient)) {
+                ResourceLocation id = stack.isEmpty() ? null : ForgeRegistries.ITEMS.getKey(stack.getItem());
+                if (id == null || !id.getPath().contains("nugget")) return false;
+            }
+        }
+        return true;
+    }
+}
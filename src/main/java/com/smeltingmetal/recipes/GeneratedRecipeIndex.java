@@ -0,0 +1,186 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.*;
+
+/**
+ * Item index of the recipes the last applied plan added, consulted by the recipe manager hook instead of its linear scan.
+ * Generated recipes are skipped unless they are listed under the item in the first occupied slot or have no item
+ * ingredients (such as {@link MoltenMeltingRecipe}), the rest is tried in manager order like the vanilla lookup does,
+ * so the same recipe wins. Only used for the recipe map the plan was applied to, any other map falls back to the
+ * vanilla lookup. Plans are applied once the tags are bound, the tables are built lazily on the first lookup after
+ * that and dropped when a plan is applied again or tags change.
+ */
+public class GeneratedRecipeIndex {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static volatile Source source;
+    private static volatile Tables tables;
+
+    /**
+     * Called after a plan was applied to the manager, the index then covers the plan's additions.
+     * Only called with the tags bound, ingredients resolve to their items when the tables are built.
+     */
+    public static void update(RecipeManager recipeManager, RecipePlan plan) {
+        source = new Source(RecipeUtils.getRecipesByType(recipeManager), plan.additions().keySet());
+        tables = null;
+    }
+
+    public static void invalidate() {
+        tables = null;
+    }
+
+    /**
+     * The recipe for the container, or null if the index does not cover this recipe map and type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Container, T extends Recipe<C>> @Nullable Optional<T> find(
+            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, RecipeType<T> type, C container, Level level) {
+        TypeIndex index = getIndex(recipes, type);
+        if (index == null) return null;
+        return Optional.ofNullable((T) index.find(container, level));
+    }
+
+    /**
+     * Same as {@link #find}, but tries the last used recipe first like the vanilla lookup does.
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Container, T extends Recipe<C>> @Nullable Optional<T> find(
+            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, RecipeType<T> type, C container, Level level,
+            @Nullable ResourceLocation lastRecipe) {
+        TypeIndex index = getIndex(recipes, type);
+        if (index == null) return null;
+        if (lastRecipe != null) {
+            Recipe<C> last = (Recipe<C>) recipes.get(type).get(lastRecipe);
+            if (last != null && last.matches(container, level)) return Optional.of((T) last);
+        }
+        return Optional.ofNullable((T) index.find(container, level));
+    }
+
+    private static @Nullable TypeIndex getIndex(Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, RecipeType<?> type) {
+        Source current = source;
+        if (current == null || current.recipes() != recipes) return null;
+        Tables currentTables = tables;
+        if (currentTables == null || currentTables.source() != current) {
+            currentTables = build(current);
+        }
+        return currentTables.types().get(type);
+    }
+
+    private static synchronized Tables build(Source current) {
+        Tables currentTables = tables;
+        if (currentTables != null && currentTables.source() == current) return currentTables;
+        long startTime = System.nanoTime();
+
+        Map<RecipeType<?>, TypeIndex> types = new HashMap<>();
+        int indexed = 0;
+        for (Map.Entry<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> entry : current.recipes().entrySet()) {
+            Map<Item, List<Entry>> byItem = new IdentityHashMap<>();
+            List<Entry> unindexed = new ArrayList<>();
+            List<Entry> others = new ArrayList<>();
+            int position = 0;
+            // Every list is filled in manager order
+            for (Map.Entry<ResourceLocation, Recipe<?>> recipe : entry.getValue().entrySet()) {
+                Entry indexEntry = new Entry(position++, recipe.getValue());
+                if (!current.generated().contains(recipe.getKey())) {
+                    others.add(indexEntry);
+                } else if (!addToIndex(byItem, indexEntry)) {
+                    unindexed.add(indexEntry);
+                }
+            }
+            // Types without generated recipes keep the vanilla lookup
+            if (byItem.isEmpty() && unindexed.isEmpty()) continue;
+            types.put(entry.getKey(), new TypeIndex(byItem, unindexed, others));
+            indexed += entry.getValue().size() - others.size();
+        }
+
+        Tables newTables = new Tables(current, types);
+        tables = newTables;
+        LOGGER.debug("Indexed {} generated recipes of {} recipe types in {} ms", indexed, types.size(),
+                (System.nanoTime() - startTime) / 1_000_000);
+        return newTables;
+    }
+
+    // Listed under every item of every ingredient, whichever slot comes first holds one of them
+    private static boolean addToIndex(Map<Item, List<Entry>> byItem, Entry entry) {
+        Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Ingredient ingredient : entry.recipe().getIngredients()) {
+            if (ingredient.isEmpty()) continue;
+            ItemStack[] stacks = ingredient.getItems();
+            // Custom ingredients without items, cannot be indexed by item
+            if (stacks.length == 0) return false;
+            for (ItemStack stack : stacks) {
+                // Empty or unbound tags show a barrier, their items are not known
+                if (stack.is(Items.BARRIER)) return false;
+                items.add(stack.getItem());
+            }
+        }
+        if (items.isEmpty()) return false;
+        items.forEach(item -> byItem.computeIfAbsent(item, key -> new ArrayList<>()).add(entry));
+        return true;
+    }
+
+    private record Entry(int position, Recipe<?> recipe) {
+    }
+
+    private record Source(Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, Set<ResourceLocation> generated) {
+    }
+
+    private record Tables(Source source, Map<RecipeType<?>, TypeIndex> types) {
+    }
+
+    private record TypeIndex(Map<Item, List<Entry>> byItem, List<Entry> unindexed, List<Entry> others) {
+
+        // Walks the three candidate lists merged by manager position, the first match is the one vanilla finds
+        @SuppressWarnings("unchecked")
+        <C extends Container> @Nullable Recipe<C> find(C container, Level level) {
+            Item firstItem = null;
+            for (int i = 0; i < container.getContainerSize(); i++) {
+                ItemStack stack = container.getItem(i);
+                if (!stack.isEmpty()) {
+                    firstItem = stack.getItem();
+                    break;
+                }
+            }
+
+            List<Entry> indexed = firstItem != null ? byItem.getOrDefault(firstItem, List.of()) : List.of();
+            int i = 0, u = 0, o = 0;
+            while (i < indexed.size() || u < unindexed.size() || o < others.size()) {
+                Entry next = null;
+                int list = -1;
+                if (i < indexed.size()) {
+                    next = indexed.get(i);
+                    list = 0;
+                }
+                if (u < unindexed.size() && (next == null || unindexed.get(u).position() < next.position())) {
+                    next = unindexed.get(u);
+                    list = 1;
+                }
+                if (o < others.size() && (next == null || others.get(o).position() < next.position())) {
+                    next = others.get(o);
+                    list = 2;
+                }
+                switch (list) {
+                    case 0 -> i++;
+                    case 1 -> u++;
+                    default -> o++;
+                }
+                if (((Recipe<C>) next.recipe()).matches(container, level)) return (Recipe<C>) next.recipe();
+            }
+            return null;
+        }
+    }
+}
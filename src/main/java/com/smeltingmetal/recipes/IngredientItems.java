@@ -0,0 +1,80 @@
+package com.smeltingmetal.recipes;
+
+import com.smeltingmetal.mixin.IngredientAccessor;
+import com.smeltingmetal.mixin.IngredientTagValueAccessor;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.tags.TagManager;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.block.Blocks;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the items of recipe ingredients while planning. Tag values normally read the tags bound to the item
+ * registry, but a reload plans before its tags are bound, so it resolves them from the item tags its own
+ * {@link TagManager} loaded. Only vanilla ingredients are resolved that way, custom ingredients keep their own
+ * resolution against the bound tags.
+ */
+public class IngredientItems {
+    public static final IngredientItems BOUND = new IngredientItems(null);
+
+    private final @Nullable Map<ResourceLocation, Collection<Holder<Item>>> itemTags;
+
+    private IngredientItems(@Nullable Map<ResourceLocation, Collection<Holder<Item>>> itemTags) {
+        this.itemTags = itemTags;
+    }
+
+    /**
+     * The item tags of a reload, has to be called once its tag manager has applied.
+     */
+    @SuppressWarnings("unchecked")
+    public static IngredientItems of(TagManager tagManager) {
+        for (TagManager.LoadResult<?> result : tagManager.getResult()) {
+            if (result.key().equals(Registries.ITEM)) {
+                return new IngredientItems((Map<ResourceLocation, Collection<Holder<Item>>>) (Map<?, ?>) result.tags());
+            }
+        }
+        return BOUND;
+    }
+
+    public ItemStack[] get(Ingredient ingredient) {
+        if (itemTags == null || !ingredient.isVanilla()) return ingredient.getItems();
+        Ingredient.Value[] values = ((IngredientAccessor) (Object) ingredient).smeltingmetal$getValues();
+        boolean hasTag = false;
+        for (Ingredient.Value value : values) {
+            if (value instanceof IngredientTagValueAccessor) hasTag = true;
+        }
+        if (!hasTag) return ingredient.getItems();
+
+        List<ItemStack> stacks = new ArrayList<>();
+        for (Ingredient.Value value : values) {
+            if (value instanceof IngredientTagValueAccessor tagValue) {
+                addTagItems(stacks, tagValue.smeltingmetal$getTag());
+            } else {
+                stacks.addAll(value.getItems());
+            }
+        }
+        return stacks.toArray(ItemStack[]::new);
+    }
+
+    // Same items as the bound tag value gives, including the barrier Forge adds for empty tags by default
+    private void addTagItems(List<ItemStack> stacks, TagKey<Item> tag) {
+        Collection<Holder<Item>> entries = itemTags.getOrDefault(tag.location(), List.of());
+        for (Holder<Item> entry : entries) {
+            stacks.add(new ItemStack(entry));
+        }
+        if (entries.isEmpty()) {
+            stacks.add(new ItemStack(Blocks.BARRIER).setHoverName(Component.literal("Empty Tag: " + tag.location())));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.smeltingmetal.recipes;
+
+import com.google.gson.JsonObject;
+import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.init.ModItems;
+import com.smeltingmetal.init.ModRecipes;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.CookingBookCategory;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+
+/**
+ * Smelts any clay mold into the hardened mold of the same shape, keeping the NBT of the clay mold.
+ */
+public class MoldHardeningRecipe extends AbstractCookingRecipe {
+
+    public MoldHardeningRecipe(ResourceLocation id, float experience, int cookingTime) {
+        super(RecipeType.SMELTING, id, "", CookingBookCategory.MISC, MoldUpgrades.clayMolds(),
+                new ItemStack(ModItems.ITEM_MOLD_HARDENED.get()), experience, cookingTime);
+    }
+
+    @Override
+    public boolean matches(Container container, Level level) {
+        return MoldUpgrades.isClayMold(container.getItem(0));
+    }
+
+    @Override
+    public ItemStack assemble(Container container, RegistryAccess registryAccess) {
+        return MoldUpgrades.upgrade(container.getItem(0), MaterialType.HARDENED);
+    }
+
+    // The result depends on the input, the recipe book would only show the item mold
+    @Override
+    public boolean isSpecial() {
+        return true;
+    }
+
+    @Override
+    public ItemStack getToastSymbol() {
+        return new ItemStack(Blocks.FURNACE);
+    }
+
+    @Override
+    public RecipeSerializer<?> getSerializer() {
+        return ModRecipes.MOLD_HARDENING.get();
+    }
+
+    public static class Serializer implements RecipeSerializer<MoldHardeningRecipe> {
+        @Override
+        public MoldHardeningRecipe fromJson(ResourceLocation id, JsonObject json) {
+            float experience = GsonHelper.getAsFloat(json, "experience", 0.0F);
+            int cookingTime = GsonHelper.getAsInt(json, "cookingtime", 200);
+            return new MoldHardeningRecipe(id, experience, cookingTime);
+        }
+
+        @Override
+        public MoldHardeningRecipe fromNetwork(ResourceLocation id, FriendlyByteBuf buf) {
+            float experience = buf.readFloat();
+            int cookingTime = buf.readVarInt();
+            return new MoldHardeningRecipe(id, experience, cookingTime);
+        }
+
+        @Override
+        public void toNetwork(FriendlyByteBuf buf, MoldHardeningRecipe recipe) {
+            buf.writeFloat(recipe.getExperience());
+            buf.writeVarInt(recipe.getCookingTime());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.smeltingmetal.recipes;
+
+import com.google.gson.JsonObject;
+import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.init.ModItems;
+import com.smeltingmetal.init.ModRecipes;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.item.crafting.SmithingRecipe;
+import net.minecraft.world.level.Level;
+
+/**
+ * Upgrades any clay mold into the netherite mold of the same shape with a netherite upgrade template and an ingot.
+ */
+public class MoldSmithingRecipe implements SmithingRecipe {
+    private final ResourceLocation id;
+
+    public MoldSmithingRecipe(ResourceLocation id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean matches(Container container, Level level) {
+        return isTemplateIngredient(container.getItem(0)) && isBaseIngredient(container.getItem(1))
+                && isAdditionIngredient(container.getItem(2));
+    }
+
+    @Override
+    public ItemStack assemble(Container container, RegistryAccess registryAccess) {
+        return MoldUpgrades.upgrade(container.getItem(1), MaterialType.NETHERITE);
+    }
+
+    @Override
+    public boolean canCraftInDimensions(int width, int height) {
+        return width * height >= 3;
+    }
+
+    @Override
+    public ItemStack getResultItem(RegistryAccess registryAccess) {
+        return new ItemStack(ModItems.ITEM_MOLD_NETHERITE.get());
+    }
+
+    @Override
+    public boolean isTemplateIngredient(ItemStack stack) {
+        return stack.is(Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE);
+    }
+
+    @Override
+    public boolean isBaseIngredient(ItemStack stack) {
+        return MoldUpgrades.isClayMold(stack);
+    }
+
+    @Override
+    public boolean isAdditionIngredient(ItemStack stack) {
+        return stack.is(Items.NETHERITE_INGOT);
+    }
+
+    @Override
+    public ResourceLocation getId() {
+        return id;
+    }
+
+    @Override
+    public RecipeSerializer<?> getSerializer() {
+        return ModRecipes.MOLD_NETHERITE_SMITHING.get();
+    }
+
+    public static class Serializer implements RecipeSerializer<MoldSmithingRecipe> {
+        @Override
+        public MoldSmithingRecipe fromJson(ResourceLocation id, JsonObject json) {
+            return new MoldSmithingRecipe(id);
+        }
+
+        @Override
+        public MoldSmithingRecipe fromNetwork(ResourceLocation id, FriendlyByteBuf buf) {
+            return new MoldSmithingRecipe(id);
+        }
+
+        @Override
+        public void toNetwork(FriendlyByteBuf buf, MoldSmithingRecipe recipe) {
+        }
+    }
+}
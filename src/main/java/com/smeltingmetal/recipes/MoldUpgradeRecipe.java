@@ -0,0 +1,57 @@
+package com.smeltingmetal.recipes;
+
+import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.init.ModRecipes;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingBookCategory;
+import net.minecraft.world.item.crafting.CustomRecipe;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.level.Level;
+
+/**
+ * Crafts any clay mold surrounded by a netherite cross into the netherite mold of the same shape.
+ * Item molds take netherite scrap, block molds netherite ingots, the corners stay empty.
+ */
+public class MoldUpgradeRecipe extends CustomRecipe {
+
+    public MoldUpgradeRecipe(ResourceLocation id, CraftingBookCategory category) {
+        super(id, category);
+    }
+
+    @Override
+    public boolean matches(CraftingContainer container, Level level) {
+        if (container.getWidth() != 3 || container.getHeight() != 3) return false;
+        ItemStack mold = container.getItem(4);
+        if (!MoldUpgrades.isClayMold(mold)) return false;
+
+        Item netherite = MoldUpgrades.isBlockMold(mold) ? Items.NETHERITE_INGOT : Items.NETHERITE_SCRAP;
+        for (int i = 0; i < 9; i++) {
+            if (i == 4) continue;
+            ItemStack stack = container.getItem(i);
+            // Odd slots form the cross around the center
+            boolean matches = i % 2 == 1 ? stack.is(netherite) : stack.isEmpty();
+            if (!matches) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public ItemStack assemble(CraftingContainer container, RegistryAccess registryAccess) {
+        return MoldUpgrades.upgrade(container.getItem(4), MaterialType.NETHERITE);
+    }
+
+    @Override
+    public boolean canCraftInDimensions(int width, int height) {
+        return width >= 3 && height >= 3;
+    }
+
+    @Override
+    public RecipeSerializer<?> getSerializer() {
+        return ModRecipes.MOLD_NETHERITE_UPGRADE.get();
+    }
+}
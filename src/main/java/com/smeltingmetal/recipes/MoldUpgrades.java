@@ -0,0 +1,66 @@
+package com.smeltingmetal.recipes;
+
+import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.init.ModBlocks;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.init.ModItems;
+import com.smeltingmetal.objects.mold.BlockMoldItem;
+import com.smeltingmetal.objects.mold.ItemMold;
+import com.smeltingmetal.utils.ModUtils;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraftforge.registries.RegistryObject;
+
+import java.util.stream.Stream;
+
+/**
+ * Shared logic of the recipes that turn a clay mold of any shape into a hardened or netherite mold of the same shape.
+ */
+public class MoldUpgrades {
+
+    public static boolean isClayMold(ItemStack stack) {
+        return (stack.getItem() instanceof ItemMold itemMold && itemMold.getMaterialType() == MaterialType.CLAY)
+                || (stack.getItem() instanceof BlockMoldItem blockMold && blockMold.getMaterialType() == MaterialType.CLAY);
+    }
+
+    public static boolean isBlockMold(ItemStack stack) {
+        return stack.getItem() instanceof BlockMoldItem;
+    }
+
+    /**
+     * Every clay mold item, for recipe viewers.
+     */
+    public static Ingredient clayMolds() {
+        return Ingredient.of(Stream.concat(ModItems.ITEM_MOLDS_CLAY.values().stream(), ModBlocks.BLOCK_MOLDS_CLAY.values().stream())
+                .map(RegistryObject::get)
+                .toArray(Item[]::new));
+    }
+
+    /**
+     * The mold of the given material with the shape of the clay mold. Other NBT is kept, the content is not.
+     */
+    public static ItemStack upgrade(ItemStack clayMold, MaterialType materialType) {
+        boolean isBlock = isBlockMold(clayMold);
+        String shape = getShape(clayMold);
+        Item resultItem = switch (materialType) {
+            case NETHERITE -> isBlock ? ModBlocks.BLOCK_MOLD_NETHERITE_ITEM.get() : ModItems.ITEM_MOLD_NETHERITE.get();
+            default -> isBlock ? ModBlocks.BLOCK_MOLD_HARDENED_ITEM.get() : ModItems.ITEM_MOLD_HARDENED.get();
+        };
+
+        ItemStack result = new ItemStack(resultItem);
+        if (clayMold.hasTag()) {
+            result.setTag(clayMold.getTag().copy());
+            result.removeTagKey(ModData.CONTENT_KEY);
+        }
+        ModUtils.setShapeToStack(result, shape, isBlock);
+        return result;
+    }
+
+    // Clay molds are one item per shape, the NBT shape is only a fallback
+    private static String getShape(ItemStack clayMold) {
+        String shape = clayMold.getItem() instanceof ItemMold itemMold ? itemMold.getShape()
+                : clayMold.getItem() instanceof BlockMoldItem blockMold ? blockMold.getShape() : null;
+        return shape != null ? shape : ModUtils.getShapeFromStack(clayMold);
+    }
+}
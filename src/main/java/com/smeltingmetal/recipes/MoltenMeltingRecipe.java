@@ -0,0 +1,127 @@
+package com.smeltingmetal.recipes;
+
+import com.google.gson.JsonObject;
+import com.smeltingmetal.data.ItemClassification;
+import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.ItemClassifier;
+import com.smeltingmetal.init.ModItems;
+import com.smeltingmetal.init.ModRecipes;
+import com.smeltingmetal.utils.ModUtils;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.CookingBookCategory;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Melts any configured metal item into molten metal, looking the metal up from the item classification when the
+ * furnace asks instead of holding one recipe per item. One recipe covers the items and one the blocks of every
+ * metal for a furnace type, so each has its own cooking time and experience.
+ * The plain result is molten metal without content, JEI shows the result per metal through
+ * {@link com.smeltingmetal.compat.JeiCompat}.
+ */
+public class MoltenMeltingRecipe extends AbstractCookingRecipe {
+    private final boolean block;
+
+    public MoltenMeltingRecipe(RecipeType<?> type, ResourceLocation id, boolean block, float experience, int cookingTime) {
+        super(type, id, "", CookingBookCategory.MISC, Ingredient.EMPTY,
+                new ItemStack(block ? ModItems.MOLTEN_METAL_BLOCK.get() : ModItems.MOLTEN_METAL_ITEM.get()), experience, cookingTime);
+        this.block = block;
+    }
+
+    public boolean isBlock() {
+        return block;
+    }
+
+    @Override
+    public boolean matches(Container container, Level level) {
+        Item item = container.getItem(0).getItem();
+        MetalProperties metalProps = getMeltingMetal(item);
+        return metalProps != null && isMeltedAsBlock(metalProps, item) == block;
+    }
+
+    @Override
+    public ItemStack assemble(Container container, RegistryAccess registryAccess) {
+        ItemStack resultStack = result.copy();
+        MetalProperties metalProps = getMeltingMetal(container.getItem(0).getItem());
+        if (metalProps != null) {
+            ModUtils.setContentToStack(resultStack, metalProps.name());
+        }
+        return resultStack;
+    }
+
+    // Not shown in the recipe book, it can neither list nor place an input that is any metal item
+    @Override
+    public boolean isSpecial() {
+        return true;
+    }
+
+    @Override
+    public ItemStack getToastSymbol() {
+        return new ItemStack(type == RecipeType.BLASTING ? Blocks.BLAST_FURNACE : Blocks.FURNACE);
+    }
+
+    @Override
+    public RecipeSerializer<?> getSerializer() {
+        return type == RecipeType.BLASTING ? ModRecipes.MOLTEN_BLASTING.get() : ModRecipes.MOLTEN_SMELTING.get();
+    }
+
+    /**
+     * The metal an item melts into, null for blacklisted and non-metal items.
+     */
+    public static @Nullable MetalProperties getMeltingMetal(Item item) {
+        ItemClassification classification = ItemClassifier.get(item);
+        if (classification.blacklisted() || !classification.isMetal()) return null;
+        return ModUtils.getMetalProperties(classification.metalKey());
+    }
+
+    /**
+     * Metals without an ingot only melt into blocks, otherwise items with a block keyword do.
+     */
+    public static boolean isMeltedAsBlock(MetalProperties metalProps, Item item) {
+        return metalProps.ingot() == null || (metalProps.block() != null && ItemClassifier.get(item).isBlock());
+    }
+
+    public static class Serializer implements RecipeSerializer<MoltenMeltingRecipe> {
+        private final RecipeType<?> type;
+        private final int defaultCookingTime;
+
+        public Serializer(RecipeType<?> type, int defaultCookingTime) {
+            this.type = type;
+            this.defaultCookingTime = defaultCookingTime;
+        }
+
+        @Override
+        public MoltenMeltingRecipe fromJson(ResourceLocation id, JsonObject json) {
+            boolean block = GsonHelper.getAsBoolean(json, "block", false);
+            float experience = GsonHelper.getAsFloat(json, "experience", 0.0F);
+            int cookingTime = GsonHelper.getAsInt(json, "cookingtime", block ? defaultCookingTime * 2 : defaultCookingTime);
+            return new MoltenMeltingRecipe(type, id, block, experience, cookingTime);
+        }
+
+        @Override
+        public MoltenMeltingRecipe fromNetwork(ResourceLocation id, FriendlyByteBuf buf) {
+            boolean block = buf.readBoolean();
+            float experience = buf.readFloat();
+            int cookingTime = buf.readVarInt();
+            return new MoltenMeltingRecipe(type, id, block, experience, cookingTime);
+        }
+
+        @Override
+        public void toNetwork(FriendlyByteBuf buf, MoltenMeltingRecipe recipe) {
+            buf.writeBoolean(recipe.block);
+            buf.writeFloat(recipe.getExperience());
+            buf.writeVarInt(recipe.getCookingTime());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.smeltingmetal.recipes;
+
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Splits the data-parallel parts of recipe planning into chunks and runs them on a fork-join pool.
+ * Chunk results are returned in input order, so merging them gives the same plan for any parallelism.
+ * With a parallelism of 1 everything runs on the calling thread.
+ * Chunks on the workers see the same scoped {@link ModData} snapshot as the calling thread.
+ */
+public class ParallelPlanner implements AutoCloseable {
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    public ParallelPlanner(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism, ParallelPlanner::newWorker, null, false) : null;
+    }
+
+    public static ParallelPlanner fromConfig() {
+        int configured = ModConfig.CONFIG.recipePlanningParallelism.get();
+        return new ParallelPlanner(configured == 0 ? Runtime.getRuntime().availableProcessors() : configured);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Bytes allocated by chunks that ran on the workers, chunks on the calling thread are not included.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * Applies the mapper to consecutive chunks of the input and returns one result per chunk, in order.
+     */
+    public <T, R> List<R> mapChunks(List<T> input, Function<List<T>, R> mapper) {
+        if (pool == null || input.size() <= MIN_CHUNK_SIZE) {
+            return List.of(mapper.apply(input));
+        }
+
+        int chunkCount = Math.min(parallelism * CHUNKS_PER_THREAD, (input.size() + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        int chunkSize = (input.size() + chunkCount - 1) / chunkCount;
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(chunkCount);
+        MaterialSnapshot materials = ModData.getScopedSnapshot();
+        for (int start = 0; start < input.size(); start += chunkSize) {
+            List<T> chunk = input.subList(start, Math.min(start + chunkSize, input.size()));
+            tasks.add(pool.submit(() -> {
+                long allocatedBefore = RecipeProfile.getThreadAllocatedBytes();
+                R result = materials == null ? mapper.apply(chunk) : ModData.withSnapshot(materials, () -> mapper.apply(chunk));
+                if (allocatedBefore >= 0) {
+                    allocatedBytes.addAndGet(RecipeProfile.getThreadAllocatedBytes() - allocatedBefore);
+                }
+                return result;
+            }));
+        }
+
+        List<R> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdown();
+    }
+
+    // Workers load mod and game classes, so they get the context class loader of the mod
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("SmeltingMetal-RecipePlanner-" + thread.getPoolIndex());
+        thread.setContextClassLoader(ParallelPlanner.class.getClassLoader());
+        return thread;
+    }
+}
@@ -0,0 +1,27 @@
+package com.smeltingmetal.recipes;
+
+import net.minecraft.world.item.crafting.RecipeType;
+
+import java.util.Map;
+
+/**
+ * Fingerprints and segments of the last recipe plan, reused by the next plan for inputs that did not change.
+ *
+ * @param settingsFingerprint Fingerprint of the material settings and toggles the plan was made with
+ * @param inputFingerprint The settings and every recipe slice combined
+ * @param plan The last complete plan, or null
+ * @param generated Recipes generated from the settings and the item registry alone, or null
+ * @param slices Classified recipes per recipe type, with the fingerprint of the recipes they came from
+ */
+public record PlanCache(
+    long settingsFingerprint,
+    long inputFingerprint,
+    RecipePlan plan,
+    RecipePlan generated,
+    Map<RecipeType<?>, Slice> slices
+) {
+    public static final PlanCache EMPTY = new PlanCache(0, 0, null, null, Map.of());
+
+    public record Slice(long fingerprint, ClassifiedRecipes recipes) {
+    }
+}
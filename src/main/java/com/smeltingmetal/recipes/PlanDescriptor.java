@@ -0,0 +1,52 @@
+package com.smeltingmetal.recipes;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.crafting.Recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact description of the generated recipes of a plan, enough for a client with the same materials to
+ * generate them itself and check that it got the same result.
+ *
+ * @param materialsFingerprint {@link RecipeFingerprints#materials()} of the server
+ * @param toggles The feature toggles the recipes were generated with, see the flag constants
+ * @param recipeCount Number of generated recipes
+ * @param recipesFingerprint Order independent fingerprint of the generated recipes
+ */
+public record PlanDescriptor(long materialsFingerprint, int toggles, int recipeCount, long recipesFingerprint) {
+    public static final int MELTING = 1;
+    public static final int CRUSHING = 1 << 1;
+    public static final int NUGGET = 1 << 2;
+    public static final int GEM = 1 << 3;
+
+    public static PlanDescriptor describe(RecipePlan generated, int toggles) {
+        return new PlanDescriptor(RecipeFingerprints.materials(), toggles, generated.additions().size(), fingerprint(generated));
+    }
+
+    /**
+     * Whether a locally generated plan is the one this descriptor was made from.
+     */
+    public boolean matches(RecipePlan generated) {
+        return generated.additions().size() == recipeCount && fingerprint(generated) == recipesFingerprint;
+    }
+
+    public void write(FriendlyByteBuf buf) {
+        buf.writeLong(materialsFingerprint);
+        buf.writeVarInt(toggles);
+        buf.writeVarInt(recipeCount);
+        buf.writeLong(recipesFingerprint);
+    }
+
+    public static PlanDescriptor read(FriendlyByteBuf buf) {
+        return new PlanDescriptor(buf.readLong(), buf.readVarInt(), buf.readVarInt(), buf.readLong());
+    }
+
+    // Generated recipes do not read the registry access for their results, so both sides use the empty one
+    private static long fingerprint(RecipePlan generated) {
+        List<Recipe<?>> recipes = new ArrayList<>(generated.additions().values());
+        return RecipeFingerprints.recipes(recipes, RegistryAccess.EMPTY);
+    }
+}
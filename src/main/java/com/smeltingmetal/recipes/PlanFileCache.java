@@ -0,0 +1,104 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * The last recipe plan, stored in the config directory so the next server start can skip planning.
+ * The file starts with the key it was written for, a different key (other mods, config, registries
+ * or datapacks) or any decoding error is a miss and the plan is computed again.
+ * Recipes are stored with their network serializers, the same format the recipe packet uses.
+ */
+public class PlanFileCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAGIC = 0x534D5250;
+    private static final int FORMAT_VERSION = 2;
+
+    public static Path getPath() {
+        return FMLPaths.CONFIGDIR.get().resolve(MODID).resolve("recipe_plan.bin");
+    }
+
+    public static @Nullable RecipePlan read(long key) {
+        Path path = getPath();
+        try {
+            // Read into the heap, a mapping would keep the file locked on Windows and block the next write
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(Files.readAllBytes(path)));
+            if (buf.readableBytes() < 16 || buf.readInt() != MAGIC || buf.readInt() != FORMAT_VERSION || buf.readLong() != key) {
+                return null;
+            }
+
+            int removalCount = buf.readVarInt();
+            Set<ResourceLocation> removals = new LinkedHashSet<>(removalCount);
+            for (int i = 0; i < removalCount; i++) {
+                removals.add(buf.readResourceLocation());
+            }
+            int additionCount = buf.readVarInt();
+            Map<ResourceLocation, Recipe<?>> additions = new LinkedHashMap<>(additionCount);
+            for (int i = 0; i < additionCount; i++) {
+                Recipe<?> recipe = ClientboundUpdateRecipesPacket.fromNetwork(buf);
+                additions.put(recipe.getId(), recipe);
+            }
+            if (buf.isReadable()) {
+                throw new IOException(buf.readableBytes() + " trailing bytes");
+            }
+            return new RecipePlan(additions, removals);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (Exception e) {
+            LOGGER.warn("Ignoring unreadable recipe plan cache {}: {}", path, e.toString());
+            return null;
+        }
+    }
+
+    public static void write(long key, RecipePlan plan) {
+        Path path = getPath();
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            buf.writeInt(MAGIC);
+            buf.writeInt(FORMAT_VERSION);
+            buf.writeLong(key);
+            buf.writeVarInt(plan.removals().size());
+            plan.removals().forEach(buf::writeResourceLocation);
+            buf.writeVarInt(plan.additions().size());
+            plan.additions().values().forEach(recipe -> ClientboundUpdateRecipesPacket.toNetwork(buf, recipe));
+
+            // Written next to the target and moved over it, so a crash never leaves a half written cache
+            Files.createDirectories(path.getParent());
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = buf.nioBuffer();
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to write recipe plan cache {}: {}", path, e.toString());
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.smeltingmetal.recipes;
+
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.config.ModConfig;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.GsonHelper;
+import net.minecraftforge.fml.ModList;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.Reader;
+import java.util.Optional;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * Marker of a datapack that already contains the planned recipes, written by the data run.
+ * With use_pregenerated_recipes enabled, a reload that finds a marker made with the current settings
+ * leaves the loaded recipes as they are instead of planning.
+ */
+public class PregeneratedRecipes {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final ResourceLocation MARKER = new ResourceLocation(MODID, "pregenerated.json");
+
+    /**
+     * @param settingsFingerprint {@link RecipeFingerprints#settings} of the data run
+     * @param additions Number of recipe files written
+     * @param removals Number of recipes disabled by the pack
+     */
+    public record Marker(long settingsFingerprint, int additions, int removals) {
+
+        public JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("settings", Long.toHexString(settingsFingerprint));
+            json.addProperty("additions", additions);
+            json.addProperty("removals", removals);
+            return json;
+        }
+
+        public static Marker fromJson(JsonObject json) {
+            return new Marker(Long.parseUnsignedLong(GsonHelper.getAsString(json, "settings"), 16),
+                    GsonHelper.getAsInt(json, "additions"), GsonHelper.getAsInt(json, "removals"));
+        }
+    }
+
+    /**
+     * The marker of the loaded datapacks, null if pregenerated recipes are disabled or no pack has one.
+     */
+    public static @Nullable Marker read(ResourceManager resourceManager) {
+        if (!ModConfig.CONFIG.usePregeneratedRecipes.get()) return null;
+        Optional<Resource> resource = resourceManager.getResource(MARKER);
+        if (resource.isEmpty()) {
+            LOGGER.warn("Pregenerated recipes are enabled but no datapack has {}, processing recipes at runtime", MARKER);
+            return null;
+        }
+        try (Reader reader = resource.get().openAsReader()) {
+            return Marker.fromJson(GsonHelper.parse(reader));
+        } catch (Exception e) {
+            LOGGER.error("Invalid pregenerated recipe marker {}, processing recipes at runtime", MARKER, e);
+            return null;
+        }
+    }
+
+    /**
+     * Whether the pack was made with the current materials and toggles, has to run after the materials are loaded.
+     */
+    public static boolean isCurrent(Marker marker) {
+        if (marker.settingsFingerprint() == RecipeFingerprints.settings(ModList.get().isLoaded("create"))) {
+            LOGGER.info("Using pregenerated recipes ({} added, {} removed), skipping recipe processing",
+                    marker.additions(), marker.removals());
+            return true;
+        }
+        LOGGER.warn("Pregenerated recipes were made with other settings, processing recipes at runtime");
+        return false;
+    }
+}
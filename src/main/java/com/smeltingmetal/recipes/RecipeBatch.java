@@ -0,0 +1,123 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects recipe additions and removals and writes them into a {@link RecipeManager} at once.
+ * Only the recipe types that were touched get a new inner map, and both manager maps are
+ * replaced together at the end, so a failed batch leaves the manager as it was.
+ * For the same id the last operation wins, the same as applying them one after another.
+ */
+public class RecipeBatch {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // A null value marks a removal
+    private final Map<ResourceLocation, Recipe<?>> operations = new LinkedHashMap<>();
+
+    public RecipeBatch add(ResourceLocation recipeId, Recipe<?> recipe) {
+        operations.put(recipeId, recipe);
+        return this;
+    }
+
+    public RecipeBatch remove(ResourceLocation recipeId) {
+        operations.put(recipeId, null);
+        return this;
+    }
+
+    /**
+     * Appends the operations of another batch, as if they were made on this one.
+     */
+    public RecipeBatch addAll(RecipeBatch other) {
+        operations.putAll(other.operations);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Number of recipe ids with a pending operation.
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * The final operation of every id, without touching any recipe manager.
+     */
+    public RecipePlan toPlan() {
+        Map<ResourceLocation, Recipe<?>> additions = new LinkedHashMap<>();
+        Set<ResourceLocation> removals = new LinkedHashSet<>();
+        operations.forEach((recipeId, recipe) -> {
+            if (recipe == null) removals.add(recipeId);
+            else additions.put(recipeId, recipe);
+        });
+        return new RecipePlan(additions, removals);
+    }
+
+    public Result apply(RecipeManager recipeManager) {
+        if (operations.isEmpty()) return Result.EMPTY;
+        try {
+            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipesByType = RecipeUtils.getRecipesByType(recipeManager);
+            Map<ResourceLocation, Recipe<?>> byName = new LinkedHashMap<>(RecipeUtils.getRecipesByName(recipeManager));
+            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> changedTypes = new HashMap<>();
+            int added = 0;
+            int replaced = 0;
+            int removed = 0;
+
+            for (Map.Entry<ResourceLocation, Recipe<?>> operation : operations.entrySet()) {
+                ResourceLocation recipeId = operation.getKey();
+                Recipe<?> recipe = operation.getValue();
+                Recipe<?> previous = recipe == null ? byName.remove(recipeId) : byName.put(recipeId, recipe);
+
+                if (previous != null) {
+                    getChangedType(changedTypes, recipesByType, previous.getType()).remove(recipeId);
+                }
+                if (recipe != null) {
+                    getChangedType(changedTypes, recipesByType, recipe.getType()).put(recipeId, recipe);
+                    if (previous == null) added++;
+                    else replaced++;
+                } else if (previous != null) {
+                    removed++;
+                } else {
+                    LOGGER.warn("Attempted to remove recipe '{}' but it was not found in the manager.", recipeId);
+                }
+            }
+
+            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> newRecipesByType = new HashMap<>(recipesByType);
+            changedTypes.forEach((type, recipes) -> newRecipesByType.put(type, Collections.unmodifiableMap(recipes)));
+            RecipeUtils.setRecipes(recipeManager, Collections.unmodifiableMap(newRecipesByType), Collections.unmodifiableMap(byName));
+            return new Result(added, replaced, removed);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to apply a batch of {} recipe changes", operations.size(), e);
+            return Result.EMPTY;
+        }
+    }
+
+    private static Map<ResourceLocation, Recipe<?>> getChangedType(Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> changedTypes,
+                                                                   Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipesByType,
+                                                                   RecipeType<?> type) {
+        return changedTypes.computeIfAbsent(type, key -> new LinkedHashMap<>(recipesByType.getOrDefault(key, Map.of())));
+    }
+
+    public record Result(int added, int replaced, int removed) {
+        public static final Result EMPTY = new Result(0, 0, 0);
+
+        public boolean isChanged() {
+            return added > 0 || replaced > 0 || removed > 0;
+        }
+    }
+}
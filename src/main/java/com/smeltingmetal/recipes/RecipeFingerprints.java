@@ -0,0 +1,159 @@
+package com.smeltingmetal.recipes;
+
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.forgespi.language.IModInfo;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 64-bit fingerprints of everything recipe planning reads: the material settings, the recipes and the loaded mods.
+ * Equal fingerprints mean the planning result can be reused, a changed one only ever causes a re-plan.
+ * Only stable hashes (strings, resource locations, NBT) are used, so fingerprints are the same across restarts.
+ */
+public class RecipeFingerprints {
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * Fingerprint of the ModData snapshot, the keyword lists and the feature toggles.
+     */
+    public static long settings(boolean isCreateLoaded) {
+        long hash = materials();
+        hash = mix(hash, flags(
+                ModConfig.CONFIG.enableMeltingRecipeReplacement.get(),
+                ModConfig.CONFIG.enableGemRecipeReplacement.get(),
+                ModConfig.CONFIG.enableCrushingRecipeReplacement.get(),
+                ModConfig.CONFIG.enableNuggetRecipeReplacement.get(),
+                ModConfig.CONFIG.enableResultRecipeRemoval.get(),
+                ModConfig.CONFIG.enableCraftingRecipeReplacement.get(),
+                isCreateLoaded));
+        return hash;
+    }
+
+    /**
+     * Fingerprint of the ModData snapshot and the keyword lists, everything item classification reads.
+     */
+    public static long materials() {
+        long hash = OFFSET;
+        MaterialSnapshot materials = ModData.getSnapshot();
+        hash = mix(hash, sorted(materials.metals()).toString());
+        hash = mix(hash, sorted(materials.gems()).toString());
+        hash = mix(hash, sorted(materials.itemShapes()).toString());
+        hash = mix(hash, sorted(materials.blockShapes()).toString());
+        hash = mix(hash, ModConfig.CONFIG.blacklistKeywords.get().toString());
+        return mix(hash, ModConfig.CONFIG.blockKeywords.get().toString());
+    }
+
+    /**
+     * Fingerprint of the loaded mods with their versions and the item and recipe serializer registries,
+     * everything a stored plan depends on besides the settings and the recipes.
+     */
+    public static long environment() {
+        List<IModInfo> mods = new ArrayList<>(ModList.get().getMods());
+        mods.sort(Comparator.comparing(IModInfo::getModId));
+        long hash = OFFSET;
+        for (IModInfo mod : mods) {
+            hash = mix(hash, mod.getModId());
+            hash = mix(hash, mod.getVersion().toString());
+        }
+        hash = mix(hash, keys(ForgeRegistries.ITEMS));
+        hash = mix(hash, keys(ForgeRegistries.RECIPE_SERIALIZERS));
+        return hash;
+    }
+
+    /**
+     * Order independent fingerprint of a group of recipes, so it does not depend on how they were chunked.
+     */
+    public static long recipes(List<Recipe<?>> recipes, RegistryAccess registryAccess) {
+        return recipes(recipes, registryAccess, IngredientItems.BOUND);
+    }
+
+    public static long recipes(List<Recipe<?>> recipes, RegistryAccess registryAccess, IngredientItems ingredientItems) {
+        long sum = 0;
+        for (Recipe<?> recipe : recipes) {
+            sum += recipe(recipe, registryAccess, ingredientItems);
+        }
+        return sum;
+    }
+
+    /**
+     * Covers the id, the recipe class, the result and every ingredient, the parts the planner looks at.
+     */
+    public static long recipe(Recipe<?> recipe, RegistryAccess registryAccess, IngredientItems ingredientItems) {
+        long hash = mix(OFFSET, recipe.getId().hashCode());
+        hash = mix(hash, recipe.getClass().getName().hashCode());
+        hash = mixStack(hash, recipe.getResultItem(registryAccess));
+        if (recipe instanceof ShapedRecipe shaped) {
+            hash = mix(hash, shaped.getWidth() * 31L + shaped.getHeight());
+        }
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            ItemStack[] stacks = ingredientItems.get(ingredient);
+            hash = mix(hash, stacks.length);
+            for (ItemStack stack : stacks) {
+                hash = mixStack(hash, stack);
+            }
+        }
+        return finish(hash);
+    }
+
+    public static long mix(long hash, long value) {
+        return (hash ^ value) * PRIME;
+    }
+
+    public static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return hash;
+    }
+
+    private static long mixStack(long hash, ItemStack stack) {
+        ResourceLocation id = stack.isEmpty() ? null : ForgeRegistries.ITEMS.getKey(stack.getItem());
+        hash = mix(hash, id == null ? 0 : id.hashCode());
+        hash = mix(hash, stack.getCount());
+        return mix(hash, stack.hasTag() ? stack.getTag().hashCode() : 0);
+    }
+
+    // Spreads the bits, recipe fingerprints are summed up
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long keys(IForgeRegistry<?> registry) {
+        long sum = 0;
+        for (ResourceLocation key : registry.getKeys()) {
+            sum += finish(mix(OFFSET, key.hashCode()));
+        }
+        return mix(sum, registry.getKeys().size());
+    }
+
+    private static long flags(boolean... values) {
+        long flags = 0;
+        for (boolean value : values) {
+            flags = (flags << 1) | (value ? 1 : 0);
+        }
+        return flags;
+    }
+
+    private static <V> Map<String, V> sorted(Map<String, V> map) {
+        return map == null ? Map.of() : new TreeMap<>(map);
+    }
+}
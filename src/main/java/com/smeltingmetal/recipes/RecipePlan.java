@@ -0,0 +1,42 @@
+package com.smeltingmetal.recipes;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable result of planning the recipe replacements for one set of loaded recipes.
+ * Every recipe id is either added or removed, never both, so the plan can be applied in any order.
+ *
+ * @param additions Recipes to add or replace, by id
+ * @param removals Ids of recipes to remove
+ */
+public record RecipePlan(Map<ResourceLocation, Recipe<?>> additions, Set<ResourceLocation> removals) {
+    public static final RecipePlan EMPTY = new RecipePlan(Map.of(), Set.of());
+
+    public RecipePlan {
+        // Keep the planning order, recipe lookups iterate the manager maps in insertion order
+        additions = Collections.unmodifiableMap(new LinkedHashMap<>(additions));
+        removals = Collections.unmodifiableSet(new LinkedHashSet<>(removals));
+    }
+
+    public boolean isEmpty() {
+        return additions.isEmpty() && removals.isEmpty();
+    }
+
+    /**
+     * Swaps the planned changes into the manager at once, see {@link RecipeBatch#apply(RecipeManager)}.
+     */
+    public RecipeBatch.Result apply(RecipeManager recipeManager) {
+        RecipeBatch batch = new RecipeBatch();
+        removals.forEach(batch::remove);
+        additions.forEach(batch::add);
+        return batch.apply(recipeManager);
+    }
+}
@@ -8,19 +8,16 @@ import com.simibubi.create.content.processing.recipe.ProcessingRecipeBuilder;
 import com.smeltingmetal.SmeltingMetalMod;
 import com.smeltingmetal.config.ModConfig;
 import com.smeltingmetal.data.GemProperties;
-import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.data.ItemClassification;
 import com.smeltingmetal.data.MetalProperties;
-import com.smeltingmetal.init.ModBlocks;
-import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.init.ItemClassifier;
 import com.smeltingmetal.init.ModItems;
 import com.smeltingmetal.objects.generic.MetalBlockItem;
 import com.smeltingmetal.objects.generic.MetalItem;
-import com.smeltingmetal.objects.mold.BlockMoldItem;
-import com.smeltingmetal.objects.mold.ItemMold;
 import com.smeltingmetal.utils.ModUtils;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.RegistryAccess;
-import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -28,12 +25,11 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.*;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.registries.ForgeRegistries;
-import net.minecraftforge.registries.RegistryObject;
 import org.slf4j.Logger;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.BiConsumer;
 
 import static com.smeltingmetal.SmeltingMetalMod.MODID;
 
@@ -43,198 +39,309 @@ import static com.smeltingmetal.SmeltingMetalMod.MODID;
 public class RecipeProcessor {
     private static final Logger LOGGER = LogUtils.getLogger();
 
+    // Manager the last plan was applied to, so server start does not process the reloaded recipes twice
+    private static WeakReference<RecipeManager> processedManager = new WeakReference<>(null);
+    private static volatile PlanCache planCache = PlanCache.EMPTY;
+
     public static void process(RecipeManager recipeManager, RegistryAccess registryAccess) {
         if (recipeManager == null) {
             LOGGER.warn(MODID + " RecipeManager is not available, skipping recipe modifications.");
             return;
         }
 
-        modifyRecipes(recipeManager, registryAccess);
+        RecipeProfile profile = new RecipeProfile("server_start");
+        RecipePlan plan = plan(recipeManager, registryAccess, profile);
+        if (plan == null) return;
+        RecipeBatch.Result result = apply(recipeManager, plan, profile);
 
-        syncRecipesToPlayers();
+        // Unchanged recipes need no resend, reloads are synced by vanilla once they finish
+        if (result.isChanged()) {
+            RecipeSyncCoordinator.requestSync(profile);
+        } else {
+            RecipeProfiler.publish(profile);
+        }
         LOGGER.info("===== RECIPE MODIFICATIONS COMPLETE =====");
     }
 
-    private static void modifyRecipes(RecipeManager recipeManager, RegistryAccess registryAccess) {
+    public static boolean isProcessed(RecipeManager recipeManager) {
+        return processedManager.get() == recipeManager;
+    }
+
+    /**
+     * Works out every recipe to add and remove without modifying the manager, safe to run off the server thread.
+     * Returns null if planning failed, the manager should then be left as it is.
+     */
+    public static RecipePlan plan(RecipeManager recipeManager, RegistryAccess registryAccess, RecipeProfile profile) {
+        return plan(recipeManager, registryAccess, IngredientItems.BOUND, profile);
+    }
+
+    /**
+     * Plans with ingredient items from the given resolver, used by reloads that plan before their tags are bound.
+     */
+    public static RecipePlan plan(RecipeManager recipeManager, RegistryAccess registryAccess, IngredientItems ingredientItems,
+                                  RecipeProfile profile) {
+        profile.mark();
+        try (ParallelPlanner planner = ParallelPlanner.fromConfig()) {
+            profile.attach(planner);
+            RecipePlan plan = planRecipes(recipeManager, registryAccess, ingredientItems, planner, profile, true);
+            LOGGER.info("Planned {} recipe additions and {} removals in {} ms on {} thread(s) ({})", plan.additions().size(),
+                    plan.removals().size(), profile.getTotalNanos() / 1_000_000, planner.getParallelism(), profile);
+            return plan;
+        } catch (Exception e) {
+            LOGGER.error("Failed to plan recipe modifications, keeping the current recipes", e);
+            return null;
+        } finally {
+            profile.attach(null);
+        }
+    }
+
+    /**
+     * Plans from scratch without reading or storing any cached plan, used to replay recipe dumps.
+     * Failures are thrown instead of logged.
+     */
+    public static RecipePlan planUncached(RecipeManager recipeManager, RegistryAccess registryAccess, RecipeProfile profile) {
+        profile.mark();
+        try (ParallelPlanner planner = ParallelPlanner.fromConfig()) {
+            profile.attach(planner);
+            return planRecipes(recipeManager, registryAccess, IngredientItems.BOUND, planner, profile, false);
+        } finally {
+            profile.attach(null);
+        }
+    }
+
+    /**
+     * Swaps a finished plan into the manager, has to run on the server thread.
+     */
+    public static RecipeBatch.Result apply(RecipeManager recipeManager, RecipePlan plan, RecipeProfile profile) {
+        profile.mark();
+        RecipeBatch.Result result = plan.apply(recipeManager);
+        processedManager = new WeakReference<>(recipeManager);
+        GeneratedRecipeIndex.update(recipeManager, plan);
+        PlanCache cache = planCache;
+        RecipeRegenerationSync.update(cache.plan() == plan ? cache.generated() : null,
+                getGenerationToggles(ModList.get().isLoaded("create")));
+        profile.lap("apply", plan.additions().size() + plan.removals().size(), result.added() + result.replaced(), result.removed());
+        LOGGER.info("Recipe changes applied: {} added, {} replaced, {} removed", result.added(), result.replaced(), result.removed());
+        return result;
+    }
+
+    private static RecipePlan planRecipes(RecipeManager recipeManager, RegistryAccess registryAccess, IngredientItems ingredientItems,
+                                          ParallelPlanner planner, RecipeProfile profile, boolean useCache) {
         boolean isCreateLoaded = ModList.get().isLoaded("create");
+        boolean shouldModifyGem = ModConfig.CONFIG.enableGemRecipeReplacement.get();
         boolean shouldModifyCrushing = isCreateLoaded && ModConfig.CONFIG.enableCrushingRecipeReplacement.get();
         boolean shouldModifySmelting = ModConfig.CONFIG.enableMeltingRecipeReplacement.get();
-        boolean shouldModifyGem = ModConfig.CONFIG.enableGemRecipeReplacement.get();
         boolean shouldModifyNugget = ModConfig.CONFIG.enableNuggetRecipeReplacement.get();
         boolean shouldRemoveResultRecipes = ModConfig.CONFIG.enableResultRecipeRemoval.get();
         boolean shouldReplaceIngotCraftingWithMixing = ModConfig.CONFIG.enableCraftingRecipeReplacement.get();
 
-        List<Recipe<?>> metalRecipes = new ArrayList<>(recipeManager.getRecipes()).stream()
-                .filter(r -> isResourceMetal(RecipeUtils.getRecipeResultLocation(registryAccess, r)))
-                .filter(r -> RecipeUtils.isRecipeAllowed(r, registryAccess))
-                .toList();
-        List<ResourceLocation> metalItems = ForgeRegistries.ITEMS.getKeys().stream()
-                .filter(RecipeProcessor::isResourceMetal)
-                .filter(RecipeUtils::isItemNotBlacklisted)
-                .toList();
-        List<Recipe<?>> gemRecipes = new ArrayList<>(recipeManager.getRecipes()).stream()
-                .filter(r -> isResourceGem(RecipeUtils.getRecipeResultLocation(registryAccess, r)))
-                .filter(r -> RecipeUtils.isRecipeAllowed(r, registryAccess))
-                .toList();
-        List<ResourceLocation> gemItems = ForgeRegistries.ITEMS.getKeys().stream()
-                .filter(RecipeProcessor::isResourceGem)
-                .filter(RecipeUtils::isItemNotBlacklisted)
-                .toList();
-        List<Recipe<?>> recipesToRemove = new ArrayList<>();
+        PlanCache cache = useCache ? planCache : PlanCache.EMPTY;
+        long settingsFingerprint = RecipeFingerprints.settings(isCreateLoaded);
+        boolean settingsChanged = cache.plan() == null || settingsFingerprint != cache.settingsFingerprint();
+
+        // Fingerprint every recipe type slice, identical inputs reuse the last plan as a whole
+        Map<RecipeType<?>, List<Recipe<?>>> recipesByType = groupByType(recipeManager.getRecipes());
+        Map<RecipeType<?>, Long> sliceFingerprints = new LinkedHashMap<>();
+        long inputFingerprint = settingsFingerprint;
+        for (Map.Entry<RecipeType<?>, List<Recipe<?>>> entry : recipesByType.entrySet()) {
+            long fingerprint = 0;
+            for (long chunkFingerprint : planner.mapChunks(entry.getValue(), chunk -> RecipeFingerprints.recipes(chunk, registryAccess, ingredientItems))) {
+                fingerprint += chunkFingerprint;
+            }
+            sliceFingerprints.put(entry.getKey(), fingerprint);
+            inputFingerprint = RecipeFingerprints.mix(RecipeFingerprints.mix(inputFingerprint, getTypeName(entry.getKey())), fingerprint);
+        }
+        profile.lap("fingerprint", recipeManager.getRecipes().size(), 0, 0);
+        if (!settingsChanged && inputFingerprint == cache.inputFingerprint()) {
+            LOGGER.info("Recipe inputs unchanged, reusing the last plan");
+            return cache.plan();
+        }
+
+        // The plan stored by an earlier run with the same mods, registries, settings and recipes
+        long fileKey = RecipeFingerprints.mix(RecipeFingerprints.environment(), inputFingerprint);
+        RecipePlan storedPlan = useCache ? PlanFileCache.read(fileKey) : null;
+        profile.lap("cache_read");
+        if (storedPlan != null) {
+            LOGGER.info("Loaded recipe plan from {}", PlanFileCache.getPath());
+            // Generated recipes are cheap to rebuild and describe what clients can regenerate. The stored plan holds
+            // its own instances of them, those are the ones applied and left out of the recipe sync
+            RecipePlan generated = withInstancesOf(planGeneratedRecipes(planner, getGenerationToggles(isCreateLoaded), profile), storedPlan);
+            planCache = new PlanCache(settingsFingerprint, inputFingerprint, storedPlan, generated, Map.of());
+            return storedPlan;
+        }
 
-        addMoldCraftingRecipes(recipeManager);
+        // Only slices whose recipes changed are classified again
+        Map<RecipeType<?>, PlanCache.Slice> slices = new LinkedHashMap<>();
+        ClassifiedRecipes classified = new ClassifiedRecipes();
+        int reusedSlices = 0;
+        int classifiedRecipes = 0;
+        for (Map.Entry<RecipeType<?>, List<Recipe<?>>> entry : recipesByType.entrySet()) {
+            long fingerprint = sliceFingerprints.get(entry.getKey());
+            PlanCache.Slice slice = cache.slices().get(entry.getKey());
+            if (!settingsChanged && slice != null && slice.fingerprint() == fingerprint) {
+                reusedSlices++;
+            } else {
+                slice = new PlanCache.Slice(fingerprint, ClassifiedRecipes.classify(entry.getValue(), registryAccess, isCreateLoaded,
+                        ingredientItems, planner));
+                classifiedRecipes += entry.getValue().size();
+            }
+            slices.put(entry.getKey(), slice);
+            classified.addAll(slice.recipes());
+        }
+        profile.lap("classification", classifiedRecipes, 0, 0);
+
+        // Generated recipes only depend on the settings and the item registry
+        boolean regenerate = settingsChanged || cache.generated() == null;
+        RecipePlan generated = regenerate ? planGeneratedRecipes(planner, getGenerationToggles(isCreateLoaded), profile) : cache.generated();
+        if (!regenerate) profile.lap("generated_reuse", 0, generated.additions().size(), 0);
+        LOGGER.debug("Reused {} of {} recipe slices, {} generated recipes", reusedSlices, slices.size(),
+                regenerate ? "re-planned" : "reused");
+
+        List<Recipe<?>> recipesToRemove = new ArrayList<>();
+        RecipeBatch batch = new RecipeBatch();
+        generated.additions().forEach(batch::add);
 
         if (shouldModifySmelting) {
-            List<Recipe<?>> metalMeltingRecipesToRemove = metalRecipes.stream()
-                    .filter(r -> Arrays.asList(RecipeType.SMELTING, RecipeType.BLASTING).contains(r.getType()))
-                    .toList();
-            recipesToRemove.addAll(metalMeltingRecipesToRemove);
-            addNewMetalMeltingRecipes(recipeManager, metalItems);
+            recipesToRemove.addAll(classified.metalMelting);
+            profile.lap("melting", classified.metalMelting.size(), 0, classified.metalMelting.size());
         }
 
         if (shouldReplaceIngotCraftingWithMixing) {
-            List<ResourceLocation> ingots = ModData.getMetalPropertiesMap().values().stream()
-                    .map(MetalProperties::ingot)
-                    .toList();
-            List<Recipe<?>> craftingRecipesToRemove = recipeManager.getRecipes().stream()
-                    .filter(r -> r.getType() == RecipeType.CRAFTING)
-                    .filter(r -> {
-                        ResourceLocation recipeResultLocation = RecipeUtils.getRecipeResultLocation(registryAccess, r);
-                        return ingots.contains(recipeResultLocation);
-                    })
-                    .toList();
+            int before = batch.size();
             if (isCreateLoaded) {
                 // add create mixing recipe with ingriedients from recipe
-                craftingRecipesToRemove.forEach(r-> {
+                classified.ingotCrafting.forEach(r -> {
                     List<Ingredient> ingredients = r.getIngredients();
                     ItemStack resultItem = r.getResultItem(registryAccess);
-                    createAndAddMixingRecipe(recipeManager, ingredients, resultItem);
+                    createAndAddMixingRecipe(batch, ingredients, resultItem, ingredientItems);
                 });
             }
-            recipesToRemove.addAll(craftingRecipesToRemove);
+            int mixing = batch.size() - before;
+            recipesToRemove.addAll(classified.ingotCrafting);
+            profile.lap("ingot_mixing", classified.ingotCrafting.size(), mixing, classified.ingotCrafting.size());
         }
 
         if (shouldModifyGem) {
-            Map<String, List<ResourceLocation>> gemResultsMap = new HashMap<>();
-            ModData.getGemPropertiesMap().forEach((key, value) ->
-                    gemResultsMap.put(key, Stream.concat(value.blockResults().values().stream(), value.itemResults().values().stream()).toList())
-            );
-            List<Recipe<?>> gemCraftingRecipesToRemove = gemRecipes.stream()
-                    .filter(r -> Arrays.asList(RecipeType.SMELTING, RecipeType.BLASTING, RecipeType.CRAFTING).contains(r.getType()))
-                    .filter(r -> {
-                        ItemStack resultItem = r.getResultItem(registryAccess);
-                        String gemKey = ModUtils.getContentKeyFromString(resultItem.getDescriptionId());
-                        return gemResultsMap.containsKey(gemKey) && gemResultsMap.get(gemKey).contains(ForgeRegistries.ITEMS.getKey(resultItem.getItem()));
-                    })
-                    .toList();
-            recipesToRemove.addAll(gemCraftingRecipesToRemove);
+            recipesToRemove.addAll(classified.gemResultCrafting);
+            profile.lap("gem", classified.gemResultCrafting.size(), 0, classified.gemResultCrafting.size());
         }
 
         if (shouldModifyCrushing) {
-            List<Recipe<?>> metalCrushingRecipesToRemove = metalRecipes.stream()
-                    .filter(r -> r instanceof CrushingRecipe)
-                    .toList();
-            recipesToRemove.addAll(metalCrushingRecipesToRemove);
-
-            List<Recipe<?>> gemCrushingRecipesToRemove = gemRecipes.stream()
-                    .filter(r -> r instanceof CrushingRecipe)
-                    .toList();
-            recipesToRemove.addAll(gemCrushingRecipesToRemove);
-
-            addNewCrushingRecipes(recipeManager, metalItems, gemItems);
+            recipesToRemove.addAll(classified.metalCrushing);
+            recipesToRemove.addAll(classified.gemCrushing);
+            int crushing = classified.metalCrushing.size() + classified.gemCrushing.size();
+            profile.lap("crushing", crushing, 0, crushing);
         }
 
         if (shouldModifyNugget) {
-            List<Recipe<?>> nuggetCraftingRecipesToRemove = metalRecipes.stream()
-                    .filter(r -> r instanceof ShapedRecipe shaped
-                            && shaped.getWidth() == 3 && shaped.getHeight() == 3
-                            && doAllIngriedientsMatchPattern(shaped, "nugget")
-                    ).toList();
-            recipesToRemove.addAll(nuggetCraftingRecipesToRemove);
-            addNuggetCraftingRecipes(recipeManager);
-            if (shouldModifyGem) {
-                addGemShardCraftingRecipes(recipeManager);
-            }
+            recipesToRemove.addAll(classified.metalNuggetCrafting);
+            profile.lap("nugget_shard", classified.metalNuggetCrafting.size(), 0, classified.metalNuggetCrafting.size());
         }
 
         // Remove recipes that produce items from MetalProperties
         if (shouldRemoveResultRecipes) {
-            Set<ResourceLocation> metalResultIds = ModData.getMetalPropertiesMap().values().stream()
-                    .flatMap(mp -> Stream.concat(
-                            mp.itemResults().entrySet().stream()
-                                    .filter(entry -> !"ingot".equals(entry.getKey()))
-                                    .map(Map.Entry::getValue),
-                            mp.blockResults().entrySet().stream()
-                                    .filter(entry -> !"block".equals(entry.getKey()))
-                                    .map(Map.Entry::getValue)
-                    ))
-                    .collect(Collectors.toSet());
-
-            List<Recipe<?>> resultCraftingRecipesToRemove = metalRecipes.stream()
-                    .filter(r -> Arrays.asList(RecipeType.SMELTING, RecipeType.BLASTING, RecipeType.CRAFTING).contains(r.getType()))
-                    .filter(r -> {
-                        ResourceLocation resultId = ForgeRegistries.ITEMS.getKey(r.getResultItem(registryAccess).getItem());
-                        return resultId != null && metalResultIds.contains(resultId);
-                    })
-                    .toList();
-            recipesToRemove.addAll(resultCraftingRecipesToRemove);
-        }
-
-        recipesToRemove.forEach(recipe -> RecipeUtils.removeRecipeInManager(recipeManager, recipe.getId()));
+            recipesToRemove.addAll(classified.metalResultCrafting);
+            profile.lap("result_removal", classified.metalResultCrafting.size(), 0, classified.metalResultCrafting.size());
+        }
+
+        recipesToRemove.forEach(recipe -> batch.remove(recipe.getId()));
+        RecipePlan plan = batch.toPlan();
+        profile.lap("assemble");
+        if (useCache) {
+            planCache = new PlanCache(settingsFingerprint, inputFingerprint, plan, generated, slices);
+            PlanFileCache.write(fileKey, plan);
+            profile.lap("cache_write");
+        }
+        return plan;
     }
 
-    private static void addMoldCraftingRecipes(RecipeManager recipeManager) {
-        List<Item> itemMolds = List.of(ModItems.ITEM_MOLD_HARDENED.get(), ModItems.ITEM_MOLD_NETHERITE.get());
-        List<Item> blockMolds = List.of(ModBlocks.BLOCK_MOLD_HARDENED_ITEM.get(), ModBlocks.BLOCK_MOLD_NETHERITE_ITEM.get());
+    /**
+     * The feature toggles generated recipes depend on, as {@link PlanDescriptor} flags.
+     */
+    public static int getGenerationToggles(boolean isCreateLoaded) {
+        int toggles = 0;
+        if (ModConfig.CONFIG.enableMeltingRecipeReplacement.get()) toggles |= PlanDescriptor.MELTING;
+        if (isCreateLoaded && ModConfig.CONFIG.enableCrushingRecipeReplacement.get()) toggles |= PlanDescriptor.CRUSHING;
+        if (ModConfig.CONFIG.enableNuggetRecipeReplacement.get()) toggles |= PlanDescriptor.NUGGET;
+        if (ModConfig.CONFIG.enableGemRecipeReplacement.get()) toggles |= PlanDescriptor.GEM;
+        return toggles;
+    }
 
-        Map<String, RegistryObject<Item>> itemMoldsClay = ModItems.ITEM_MOLDS_CLAY;
-        Map<String, RegistryObject<Item>> blockMoldsClay = ModBlocks.BLOCK_MOLDS_CLAY;
+    /**
+     * Generates the recipes that only depend on the materials and the given toggles, used by clients to rebuild
+     * the recipes the server left out of the recipe sync.
+     */
+    public static RecipePlan planGenerated(int toggles) {
+        try (ParallelPlanner planner = ParallelPlanner.fromConfig()) {
+            return planGeneratedRecipes(planner, toggles, new RecipeProfile("regenerate"));
+        }
+    }
 
-        for (boolean isBlock : List.of(false, true)) {
-            for (var entry : (isBlock ? blockMoldsClay : itemMoldsClay).entrySet()) {
-                String shape = entry.getKey();
-                Item inputMold = entry.getValue().get();
-                for (Item mold : (isBlock ? blockMolds : itemMolds)) {
-                    ItemStack resultStack = new ItemStack(mold);
-                    ModUtils.setShapeToStack(resultStack, shape, isBlock);
-                    boolean isNetherite = (mold instanceof ItemMold itemMold && itemMold.getMaterialType() == MaterialType.NETHERITE)
-                            || (mold instanceof BlockMoldItem blockMold && blockMold.getMaterialType() == MaterialType.NETHERITE);
-                    if (isNetherite) {
-                        createAndAddMoldCraftingNetheriteUpgrade(recipeManager, inputMold, resultStack);
-                        createAndAddMoldSmithingNetheriteUpgrade(recipeManager, inputMold, resultStack);
-                    } else {
-                        createAndAddCookingRecipe(recipeManager, inputMold, resultStack, RecipeType.SMELTING, 200, 1.4f);
-                    }
-                }
-            }
+    private static RecipePlan planGeneratedRecipes(ParallelPlanner planner, int toggles, RecipeProfile profile) {
+        boolean shouldModifyCrushing = (toggles & PlanDescriptor.CRUSHING) != 0;
+        boolean shouldModifySmelting = (toggles & PlanDescriptor.MELTING) != 0;
+        boolean shouldModifyGem = (toggles & PlanDescriptor.GEM) != 0;
+        boolean shouldModifyNugget = (toggles & PlanDescriptor.NUGGET) != 0;
+
+        // Sorted by id, so chunking and the order of generated recipes do not depend on hash order
+        List<Map.Entry<ResourceKey<Item>, Item>> itemEntries = new ArrayList<>(ForgeRegistries.ITEMS.getEntries());
+        itemEntries.sort(Comparator.comparing(entry -> entry.getKey().location()));
+        List<ResourceLocation> metalItems = new ArrayList<>();
+        List<ResourceLocation> gemItems = new ArrayList<>();
+        for (List<List<ResourceLocation>> chunk : planner.mapChunks(itemEntries, RecipeProcessor::collectMaterialItems)) {
+            metalItems.addAll(chunk.get(0));
+            gemItems.addAll(chunk.get(1));
         }
+        profile.lap("item_scan", itemEntries.size(), 0, 0);
 
-    }
+        RecipeBatch batch = new RecipeBatch();
 
-    private static boolean doAllIngriedientsMatchPattern(ShapedRecipe shaped, String pattern) {
-        return shaped.getIngredients().stream().allMatch(ing ->
-                !ing.isEmpty() && Arrays.stream(ing.getItems()).allMatch(i -> doesItemStackMatchPattern(i, pattern)));
+        if (shouldModifySmelting) {
+            int before = batch.size();
+            addMoltenMeltingRecipes(batch);
+            profile.lap("melting", 0, batch.size() - before, 0);
+        }
+
+        if (shouldModifyCrushing) {
+            int before = batch.size();
+            generateInChunks(planner, batch, metalItems, RecipeProcessor::addNewMetalCrushingRecipes);
+            generateInChunks(planner, batch, gemItems, RecipeProcessor::addNewGemCrushingRecipes);
+            profile.lap("crushing", metalItems.size() + gemItems.size(), batch.size() - before, 0);
+        }
+
+        if (shouldModifyNugget) {
+            int before = batch.size();
+            addNuggetCraftingRecipes(batch);
+            if (shouldModifyGem) {
+                addGemShardCraftingRecipes(batch);
+            }
+            profile.lap("nugget_shard", 0, batch.size() - before, 0);
+        }
+        return batch.toPlan();
     }
 
-    private static boolean doesItemStackMatchPattern(ItemStack stack, String pattern) {
-        if (stack.isEmpty()) return false;
-        ResourceLocation loc = ForgeRegistries.ITEMS.getKey(stack.getItem());
-        return loc != null && loc.getPath().contains(pattern);
+    private static RecipePlan withInstancesOf(RecipePlan generated, RecipePlan plan) {
+        Map<ResourceLocation, Recipe<?>> additions = new LinkedHashMap<>();
+        generated.additions().forEach((id, recipe) -> additions.put(id, plan.additions().getOrDefault(id, recipe)));
+        return new RecipePlan(additions, generated.removals());
     }
 
-    private static boolean isResourceMetal(ResourceLocation result) {
-        if (result == null) return false;
-        return ModUtils.getAllMetalProperties().keySet().stream()
-                .anyMatch(metalKey -> result.getPath().contains(metalKey));
+    // Recipes sorted by id within their type, types sorted by their registry name
+    private static Map<RecipeType<?>, List<Recipe<?>>> groupByType(Collection<Recipe<?>> recipes) {
+        Map<RecipeType<?>, List<Recipe<?>>> byType = new TreeMap<>(Comparator.<RecipeType<?>, String>comparing(RecipeProcessor::getTypeName)
+                .thenComparingInt(System::identityHashCode));
+        for (Recipe<?> recipe : recipes) {
+            byType.computeIfAbsent(recipe.getType(), type -> new ArrayList<>()).add(recipe);
+        }
+        byType.values().forEach(list -> list.sort(Comparator.comparing(Recipe::getId)));
+        return new LinkedHashMap<>(byType);
     }
 
-    private static boolean isResourceGem(ResourceLocation result) {
-        if (result == null) return false;
-        return ModData.getGemPropertiesMap().keySet().stream()
-                .anyMatch(gemKey -> result.getPath().contains(gemKey));
+    private static String getTypeName(RecipeType<?> type) {
+        return String.valueOf(ForgeRegistries.RECIPE_TYPES.getKey(type));
     }
 
-    private static void addNuggetCraftingRecipes(RecipeManager recipeManager) {
+    private static void addNuggetCraftingRecipes(RecipeBatch batch) {
         for (MetalProperties metalProps : ModUtils.getAllMetalProperties().values()) {
             // setup input and output items
             boolean useCrushed = ModList.get().isLoaded("create") && metalProps.crushed() != null;
@@ -245,22 +352,22 @@ public class RecipeProcessor {
             if (nuggetGroup == null || nuggetItem == null) continue;
 
             // create shapeless recipe
-            create9ItemsFrom1(recipeManager, nuggetItem, nuggetGroup, nuggetGroupLoc.getPath(), metalProps.nugget().getPath());
+            create9ItemsFrom1(batch, nuggetItem, nuggetGroup, nuggetGroupLoc.getPath(), metalProps.nugget().getPath());
 
             // create shaped recipe
-            create1ItemFrom9(recipeManager, nuggetItem, nuggetGroup, nuggetGroupLoc.getPath(), metalProps.nugget().getPath());
+            create1ItemFrom9(batch, nuggetItem, nuggetGroup, nuggetGroupLoc.getPath(), metalProps.nugget().getPath());
 
             // create crushed metal -> raw block recipes
             ResourceLocation rawBlockLoc = metalProps.rawBlock();
             if (useCrushed && rawBlockLoc != null) {
                 Item rawBlock = ForgeRegistries.ITEMS.getValue(rawBlockLoc);
                 if (rawBlock == null) continue;
-                create1ItemFrom9(recipeManager, nuggetGroup, rawBlock, rawBlockLoc.getPath(), metalProps.crushed().getPath());
+                create1ItemFrom9(batch, nuggetGroup, rawBlock, rawBlockLoc.getPath(), metalProps.crushed().getPath());
             }
         }
     }
 
-    private static void addGemShardCraftingRecipes(RecipeManager recipeManager) {
+    private static void addGemShardCraftingRecipes(RecipeBatch batch) {
         for (GemProperties gemProps : ModUtils.getAllGemProperties().values()) {
             // setup input and output items
             if (gemProps.shard() == null) continue;
@@ -271,14 +378,14 @@ public class RecipeProcessor {
             Item dustItem = ModItems.GEM_DUST_ITEM.get();
 
             // create shapeless recipe
-            create9ItemsFrom1(recipeManager, shardItem, gemItem, "gem_dust", gemProps.shard().getPath());
+            create9ItemsFrom1(batch, shardItem, gemItem, "gem_dust", gemProps.shard().getPath());
 
             // create shaped recipe
-            create1ItemFrom9(recipeManager, shardItem, dustItem, "gem_dust", gemProps.shard().getPath());
+            create1ItemFrom9(batch, shardItem, dustItem, "gem_dust", gemProps.shard().getPath());
         }
     }
 
-    private static void create1ItemFrom9(RecipeManager recipeManager, Item singleItem, Item groupItem, String singleName, String groupName) {
+    private static void create1ItemFrom9(RecipeBatch batch, Item singleItem, Item groupItem, String singleName, String groupName) {
         String shapedRecipeIdSuffix = groupName + "_from_" + singleName;
         ResourceLocation shapedRecipeId = new ResourceLocation(SmeltingMetalMod.MODID, shapedRecipeIdSuffix);
         NonNullList<Ingredient> nuggetIngs = NonNullList.withSize(9, Ingredient.EMPTY);
@@ -300,10 +407,10 @@ public class RecipeProcessor {
                 nuggetIngs,
                 groupStack
         );
-        RecipeUtils.createInRecipeInManager(recipeManager, shapedRecipeId, shapedRecipe);
+        batch.add(shapedRecipeId, shapedRecipe);
     }
 
-    private static void create9ItemsFrom1(RecipeManager recipeManager, Item singleItem, Item groupItem, String singleName, String groupName) {
+    private static void create9ItemsFrom1(RecipeBatch batch, Item singleItem, Item groupItem, String singleName, String groupName) {
         String shapelessRecipeIdSuffix = singleName + "_from_" + groupName;
         ResourceLocation shapelessRecipeId = new ResourceLocation(SmeltingMetalMod.MODID, shapelessRecipeIdSuffix);
 
@@ -320,10 +427,35 @@ public class RecipeProcessor {
                 singleStack,
                 NonNullList.of(Ingredient.EMPTY, Ingredient.of(groupItem))
         );
-        RecipeUtils.createInRecipeInManager(recipeManager, shapelessRecipeId, shapelessRecipe);
+        batch.add(shapelessRecipeId, shapelessRecipe);
+    }
+
+    // Metal items first, then gem items
+    private static List<List<ResourceLocation>> collectMaterialItems(List<Map.Entry<ResourceKey<Item>, Item>> entries) {
+        List<ResourceLocation> metalItems = new ArrayList<>();
+        List<ResourceLocation> gemItems = new ArrayList<>();
+        for (Map.Entry<ResourceKey<Item>, Item> entry : entries) {
+            ItemClassification classification = ItemClassifier.get(entry.getValue());
+            if (classification.blacklisted()) continue;
+            if (classification.isMetal()) metalItems.add(entry.getKey().location());
+            if (classification.isGem()) gemItems.add(entry.getKey().location());
+        }
+        return List.of(metalItems, gemItems);
+    }
+
+    // Every chunk writes into its own batch, merged in chunk order so the plan is the same for any parallelism
+    private static void generateInChunks(ParallelPlanner planner, RecipeBatch batch, List<ResourceLocation> items,
+                                         BiConsumer<RecipeBatch, List<ResourceLocation>> generator) {
+        for (RecipeBatch chunkBatch : planner.mapChunks(items, chunk -> {
+            RecipeBatch part = new RecipeBatch();
+            generator.accept(part, chunk);
+            return part;
+        })) {
+            batch.addAll(chunkBatch);
+        }
     }
 
-    private static void addNewCrushingRecipes(RecipeManager recipeManager, List<ResourceLocation> metalItems, List<ResourceLocation> gemItems) {
+    private static void addNewMetalCrushingRecipes(RecipeBatch batch, List<ResourceLocation> metalItems) {
         for (ResourceLocation itemId : metalItems) {
             String metalKey = ModUtils.getContentKeyFromAllowedString(itemId.getPath());
             if (metalKey == null) continue;
@@ -337,9 +469,11 @@ public class RecipeProcessor {
             ItemStack resultStack = new ItemStack(resultItem, isBlock ? 9 : 1);
             if (resultStack.isEmpty()) continue;
 
-            createAndAddCrushingRecipe(recipeManager, inputItem, resultStack);
+            createAndAddCrushingRecipe(batch, inputItem, resultStack);
         }
+    }
 
+    private static void addNewGemCrushingRecipes(RecipeBatch batch, List<ResourceLocation> gemItems) {
         for (ResourceLocation itemId : gemItems) {
             String gemKey = ModUtils.getContentKeyFromAllowedString(itemId.getPath());
             if (gemKey == null) continue;
@@ -353,11 +487,11 @@ public class RecipeProcessor {
             ModUtils.setContentToStack(resultStack, gemKey);
             if (resultStack.isEmpty()) continue;
 
-            createAndAddCrushingRecipe(recipeManager, inputItem, resultStack);
+            createAndAddCrushingRecipe(batch, inputItem, resultStack);
         }
     }
 
-    private static void createAndAddCrushingRecipe(RecipeManager recipeManager, Item input, ItemStack result) {
+    private static void createAndAddCrushingRecipe(RecipeBatch batch, Item input, ItemStack result) {
         try {
             String recipeName = "crushing/" + ForgeRegistries.ITEMS.getKey(input).getPath() + "_to_" + ForgeRegistries.ITEMS.getKey(result.getItem()).getPath();
             ResourceLocation recipeId = new ResourceLocation(SmeltingMetalMod.MODID, recipeName);
@@ -367,7 +501,7 @@ public class RecipeProcessor {
                     .output(.1f, result)  // Secondary output with 10% chance
                     .build();
             CrushingRecipe recipe = builder.build();
-            RecipeUtils.createInRecipeInManager(recipeManager, recipeId, recipe);
+            batch.add(recipeId, recipe);
         } catch (Exception e) {
             LOGGER.error("Failed to create crushing recipe for {} -> {}: {}",
                     ForgeRegistries.ITEMS.getKey(input),
@@ -376,9 +510,9 @@ public class RecipeProcessor {
         }
     }
 
-    private static void createAndAddMixingRecipe(RecipeManager recipeManager, List<Ingredient> input, ItemStack result) {
+    private static void createAndAddMixingRecipe(RecipeBatch batch, List<Ingredient> input, ItemStack result, IngredientItems ingredientItems) {
         try {
-            String recipeName = "mixing/" + result.getItem().toString()+"_from_"+input.get(0).getItems()[0].getItem().toString();
+            String recipeName = "mixing/" + result.getItem().toString()+"_from_"+ingredientItems.get(input.get(0))[0].getItem().toString();
             ResourceLocation recipeId = new ResourceLocation(SmeltingMetalMod.MODID, recipeName);
             ProcessingRecipeBuilder<MixingRecipe> builder = new ProcessingRecipeBuilder<>(MixingRecipe::new, recipeId);
             NonNullList<Ingredient> ingredients = NonNullList.create();
@@ -388,7 +522,7 @@ public class RecipeProcessor {
                     .requiresHeat(HeatCondition.HEATED)
                     .build();
             MixingRecipe recipe = builder.build();
-            RecipeUtils.createInRecipeInManager(recipeManager, recipeId, recipe);
+            batch.add(recipeId, recipe);
         } catch (Exception e) {
             LOGGER.error("Failed to create mixing recipe for {}: {}",
                     ForgeRegistries.ITEMS.getKey(result.getItem()),
@@ -396,109 +530,16 @@ public class RecipeProcessor {
         }
     }
 
-    private static void addNewMetalMeltingRecipes(RecipeManager recipeManager, List<ResourceLocation> metalItems) {
-        for (ResourceLocation itemId : metalItems) {
-            String metalKey = ModUtils.getContentKeyFromAllowedString(itemId.getPath());
-            if (metalKey == null) continue;
-            MetalProperties metalProps = ModUtils.getMetalProperties(metalKey);
-            if (metalProps == null) continue;
-            boolean isBlock = metalProps.ingot() == null || (metalProps.block() != null && ModUtils.isItemBlock(itemId));
-
-            // Create an input item
-            Item inputItem = ForgeRegistries.ITEMS.getValue(itemId);
-            if (inputItem == null || inputItem == Items.AIR) continue;
-
-            // Create result stack
-            Item resultItem = isBlock ? ModItems.MOLTEN_METAL_BLOCK.get() : ModItems.MOLTEN_METAL_ITEM.get();
-            ItemStack resultStack = new ItemStack(resultItem);
-            ModUtils.setContentToStack(resultStack, metalProps.name());
-
+    // Two recipes per furnace type cover every metal, items and blocks melt with their own time and experience
+    private static void addMoltenMeltingRecipes(RecipeBatch batch) {
+        for (boolean isBlock : List.of(false, true)) {
             int time = isBlock ? 400 : 200;
             float xp = isBlock ? 1.4f : 0.7f;
-            createAndAddCookingRecipe(recipeManager, inputItem, resultStack, RecipeType.SMELTING, time, xp);
-            createAndAddCookingRecipe(recipeManager, inputItem, resultStack, RecipeType.BLASTING, time / 2, xp);
-        }
-    }
-
-    private static void createAndAddCookingRecipe(RecipeManager recipeManager, Item input, ItemStack output, RecipeType<?> type, int time, float xp) {
-        ResourceLocation inputId = ForgeRegistries.ITEMS.getKey(input);
-        if (inputId == null) return;
-
-        String typeName = type == RecipeType.SMELTING ? "smelting" : "blasting";
-        String idName = String.format("%s_%s_%s", typeName, inputId.getNamespace(), inputId.getPath());
-
-        ResourceLocation recipeId = new ResourceLocation(SmeltingMetalMod.MODID, idName);
-        Ingredient ingredient = Ingredient.of(input);
-
-        AbstractCookingRecipe recipe = type == RecipeType.SMELTING ?
-                new SmeltingRecipe(recipeId, "", CookingBookCategory.MISC, ingredient, output, xp, time) :
-                new BlastingRecipe(recipeId, "", CookingBookCategory.MISC, ingredient, output, xp, time / 2);
-
-        RecipeUtils.createInRecipeInManager(recipeManager, recipeId, recipe);
-    }
-
-    private static void createAndAddMoldCraftingNetheriteUpgrade(RecipeManager recipeManager, Item input, ItemStack output) {
-        ResourceLocation inputId = ForgeRegistries.ITEMS.getKey(input);
-        if (inputId == null) return;
-
-        // Create recipe ID based on input item
-        String idName = String.format("smithing_%s_%s", inputId.getNamespace(), inputId.getPath());
-        ResourceLocation recipeId = new ResourceLocation(SmeltingMetalMod.MODID, idName);
-
-        // Set up ingredients for the cross pattern
-        NonNullList<Ingredient> ingredients = NonNullList.withSize(9, Ingredient.EMPTY);
-        Ingredient netheriteItem = Ingredient.of(input instanceof ItemMold ? Items.NETHERITE_SCRAP : Items.NETHERITE_INGOT);
-        Ingredient moldIngriedient = Ingredient.of(input);
-
-        // Create cross pattern (indices for 3x3 grid: 0-8)
-        ingredients.set(1, netheriteItem);  // Top center
-        ingredients.set(3, netheriteItem);  // Middle left
-        ingredients.set(4, moldIngriedient); // Center
-        ingredients.set(5, netheriteItem);  // Middle right
-        ingredients.set(7, netheriteItem);  // Bottom center
-
-        // Create and register the recipe
-        ShapedRecipe recipe = new ShapedRecipe(
-                recipeId,
-                "", // Group name (empty for no group)
-                CraftingBookCategory.MISC,
-                3, 3, // 3x3 grid
-                ingredients,
-                output
-        );
-
-        RecipeUtils.createInRecipeInManager(recipeManager, recipeId, recipe);
-    }
-
-    private static void createAndAddMoldSmithingNetheriteUpgrade(RecipeManager recipeManager, Item input, ItemStack output) {
-        ResourceLocation inputId = ForgeRegistries.ITEMS.getKey(input);
-        if (inputId == null) return;
-
-        String idName = String.format("smithing_%s_%s", inputId.getNamespace(), inputId.getPath());
-        ResourceLocation recipeId = new ResourceLocation(SmeltingMetalMod.MODID, idName);
-
-        Ingredient template = Ingredient.of(Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE);
-        Ingredient base = Ingredient.of(input);
-        Ingredient addition = Ingredient.of(Items.NETHERITE_INGOT);
-
-        // Create the smithing recipe
-        SmithingTransformRecipe recipe = new SmithingTransformRecipe(
-                recipeId,
-                template,
-                base,
-                addition,
-                output
-        );
-
-        RecipeUtils.createInRecipeInManager(recipeManager, recipeId, recipe);
-    }
-
-    private static void syncRecipesToPlayers() {
-        if (SmeltingMetalMod.getServer() == null) return;
-        var packet = new ClientboundUpdateRecipesPacket(
-                SmeltingMetalMod.getServer().getRecipeManager().getRecipes());
-        for (var p : SmeltingMetalMod.getServer().getPlayerList().getPlayers()) {
-            p.connection.send(packet);
+            String suffix = isBlock ? "block" : "item";
+            ResourceLocation smeltingId = new ResourceLocation(SmeltingMetalMod.MODID, "melting/smelting_" + suffix);
+            ResourceLocation blastingId = new ResourceLocation(SmeltingMetalMod.MODID, "melting/blasting_" + suffix);
+            batch.add(smeltingId, new MoltenMeltingRecipe(RecipeType.SMELTING, smeltingId, isBlock, xp, time));
+            batch.add(blastingId, new MoltenMeltingRecipe(RecipeType.BLASTING, blastingId, isBlock, xp, time / 2));
         }
     }
-}
\ No newline at end of file
+}
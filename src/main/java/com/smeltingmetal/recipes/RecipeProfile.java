@@ -0,0 +1,133 @@
+package com.smeltingmetal.recipes;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wall time, recipe counts and allocation of each phase of one recipe processing run, in the order they ran.
+ * A lap is charged everything since the previous lap or {@link #mark()} on the same thread, laps of the same
+ * phase add up. Allocation covers the calling thread and the planner workers, it is -1 where the JVM cannot measure it.
+ */
+public class RecipeProfile {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final String trigger;
+    private final Instant startedAt = Instant.now();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private ParallelPlanner planner;
+    private long lastLap;
+    private long lastThreadAllocated;
+    private long lastWorkerAllocated;
+
+    public RecipeProfile(String trigger) {
+        this.trigger = trigger;
+        mark();
+    }
+
+    /**
+     * Starts measuring the next lap on the current thread, time before it is not charged to any phase.
+     */
+    public void mark() {
+        lastLap = System.nanoTime();
+        lastThreadAllocated = getThreadAllocatedBytes();
+        lastWorkerAllocated = planner == null ? 0 : planner.getAllocatedBytes();
+    }
+
+    /**
+     * Also charges allocations of this planner's workers until it is detached with null.
+     */
+    public void attach(ParallelPlanner planner) {
+        this.planner = planner;
+        lastWorkerAllocated = planner == null ? 0 : planner.getAllocatedBytes();
+    }
+
+    public void lap(String phase) {
+        lap(phase, 0, 0, 0);
+    }
+
+    public void lap(String phase, int scanned, int generated, int removed) {
+        long now = System.nanoTime();
+        long threadAllocated = getThreadAllocatedBytes();
+        long workerAllocated = planner == null ? 0 : planner.getAllocatedBytes();
+        long allocated = threadAllocated < 0 ? -1 : threadAllocated - lastThreadAllocated + workerAllocated - lastWorkerAllocated;
+
+        Phase lap = new Phase(phase, now - lastLap, scanned, generated, removed, allocated);
+        phases.merge(phase, lap, Phase::plus);
+        lastLap = now;
+        lastThreadAllocated = threadAllocated;
+        lastWorkerAllocated = workerAllocated;
+    }
+
+    public String getTrigger() {
+        return trigger;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public List<Phase> getPhases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    public long getTotalNanos() {
+        return phases.values().stream().mapToLong(Phase::nanos).sum();
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("trigger", trigger);
+        json.addProperty("started", startedAt.toString());
+        json.addProperty("total_ms", getTotalNanos() / 1_000_000.0);
+        JsonArray phaseArray = new JsonArray();
+        for (Phase phase : phases.values()) {
+            JsonObject phaseJson = new JsonObject();
+            phaseJson.addProperty("name", phase.name());
+            phaseJson.addProperty("ms", phase.nanos() / 1_000_000.0);
+            phaseJson.addProperty("scanned", phase.scanned());
+            phaseJson.addProperty("generated", phase.generated());
+            phaseJson.addProperty("removed", phase.removed());
+            phaseJson.addProperty("allocated_bytes", phase.allocatedBytes());
+            phaseArray.add(phaseJson);
+        }
+        json.add("phases", phaseArray);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        phases.forEach((name, phase) -> {
+            if (!builder.isEmpty()) builder.append(", ");
+            builder.append(name).append('=').append(phase.nanos() / 1_000_000).append("ms");
+        });
+        return builder.toString();
+    }
+
+    /**
+     * Allocated bytes of the current thread, -1 if the JVM does not support measuring it.
+     */
+    public static long getThreadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    public record Phase(String name, long nanos, int scanned, int generated, int removed, long allocatedBytes) {
+        Phase plus(Phase other) {
+            long allocated = allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes;
+            return new Phase(name, nanos + other.nanos, scanned + other.scanned, generated + other.generated,
+                    removed + other.removed, allocated);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the profiles of the last recipe processing runs for the profile command.
+ * Every finished profile is also logged as one JSON line prefixed with "recipe_profile", for log based monitoring.
+ */
+public class RecipeProfiler {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    public static final int HISTORY_SIZE = 10;
+
+    private static final Deque<RecipeProfile> history = new ArrayDeque<>();
+
+    public static void publish(RecipeProfile profile) {
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) history.removeFirst();
+            history.addLast(profile);
+        }
+        LOGGER.info("recipe_profile {}", profile.toJson());
+    }
+
+    /**
+     * The kept profiles, oldest first.
+     */
+    public static List<RecipeProfile> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.network.ModNetwork;
+import com.smeltingmetal.network.RecipeDescriptorMessage;
+import com.smeltingmetal.network.RecipeResyncMessage;
+import net.minecraft.network.Connection;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.network.NetworkDirection;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Leaves the generated recipes out of the recipe sync for clients that can generate them from the same materials.
+ * Those clients get a {@link PlanDescriptor} right before the recipes and add the regenerated recipes while the
+ * packet is handled. Generation classifies items by their tags, so the login recipe packet, which arrives before
+ * the tags, is handled once more after them. A client whose result differs asks for the full list and gets every
+ * recipe from then on, clients without the mod and local connections always get the full list.
+ */
+public class RecipeRegenerationSync {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // Connections that failed to regenerate, weak so closed connections drop out
+    private static final Set<Connection> fullSync = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private static volatile State state;
+    private static volatile Stripped lastStripped;
+    // Client side, the descriptor of the recipe packet that comes next
+    private static volatile PlanDescriptor pendingDescriptor;
+    // Client side, whether the tags of this connection arrived, and the recipes waiting for them
+    private static volatile boolean tagsReceived;
+    private static volatile Deferred deferred;
+
+    /**
+     * Called after a plan was applied, generated is null when the generated part of the plan is unknown.
+     */
+    public static void update(@Nullable RecipePlan generated, int toggles) {
+        state = generated == null || generated.additions().isEmpty()
+                ? null : new State(generated.additions(), PlanDescriptor.describe(generated, toggles));
+        lastStripped = null;
+    }
+
+    /**
+     * Server side, the packet to send instead of the given one. Recipe packets to clients that can regenerate lose
+     * the generated recipes and are preceded by the descriptor, everything else is returned as it is.
+     */
+    public static Packet<?> prepare(Connection connection, Packet<?> packet) {
+        if (!(packet instanceof ClientboundUpdateRecipesPacket recipesPacket)) return packet;
+        State current = state;
+        if (current == null || connection.isMemoryConnection() || !ModConfig.CONFIG.enableClientRecipeRegeneration.get()
+                || !ModNetwork.CHANNEL.isRemotePresent(connection) || fullSync.contains(connection)) {
+            return packet;
+        }
+
+        // Reload and coalesced syncs share one packet between all players, so is the stripped copy
+        Stripped stripped = lastStripped;
+        if (stripped == null || stripped.original() != packet || stripped.state() != current) {
+            stripped = strip(current, recipesPacket);
+            lastStripped = stripped;
+        }
+        if (stripped.packet() == packet) return packet;
+
+        connection.send(ModNetwork.CHANNEL.toVanillaPacket(new RecipeDescriptorMessage(current.descriptor()), NetworkDirection.PLAY_TO_CLIENT));
+        return stripped.packet();
+    }
+
+    /**
+     * Server side, whether the packet is the copy without generated recipes that was last made from the original.
+     */
+    public static boolean isStrippedCopy(Packet<?> packet, Packet<?> original) {
+        Stripped stripped = lastStripped;
+        return stripped != null && stripped.packet() == packet && stripped.original() == original;
+    }
+
+    /**
+     * Server side, a client could not regenerate the recipes and gets the full list.
+     */
+    public static void requestFullSync(ServerPlayer player) {
+        if (!fullSync.add(player.connection.connection)) return;
+        LOGGER.info("{} could not regenerate the generated recipes, sending the full recipe list", player.getGameProfile().getName());
+        player.connection.send(new ClientboundUpdateRecipesPacket(player.server.getRecipeManager().getRecipes()));
+    }
+
+    /**
+     * Client side, remembers the descriptor for the recipe packet that follows it.
+     */
+    public static void onDescriptor(PlanDescriptor descriptor) {
+        pendingDescriptor = descriptor;
+    }
+
+    /**
+     * Client side, a new connection starts without tags.
+     */
+    public static void onLogin() {
+        tagsReceived = false;
+        deferred = null;
+        pendingDescriptor = null;
+    }
+
+    /**
+     * Client side, called once the tags of the connection are bound. Returns the recipes of a packet that waited for
+     * them, to be handled again, or null.
+     */
+    public static @Nullable List<Recipe<?>> onTagsReceived() {
+        tagsReceived = true;
+        Deferred current = deferred;
+        if (current == null) return null;
+        deferred = null;
+        pendingDescriptor = current.descriptor();
+        return current.received();
+    }
+
+    /**
+     * Client side, the received recipes plus the regenerated ones if the server left them out.
+     */
+    public static Iterable<Recipe<?>> regenerate(Iterable<Recipe<?>> received) {
+        PlanDescriptor descriptor = pendingDescriptor;
+        pendingDescriptor = null;
+        if (descriptor == null) return received;
+        if (!tagsReceived) {
+            // Applied without the generated recipes for now, they are added when the packet is handled again
+            List<Recipe<?>> recipes = new ArrayList<>();
+            received.forEach(recipes::add);
+            deferred = new Deferred(descriptor, recipes);
+            return received;
+        }
+
+        long startTime = System.nanoTime();
+        RecipePlan generated = null;
+        if (descriptor.materialsFingerprint() == RecipeFingerprints.materials()
+                && ((descriptor.toggles() & PlanDescriptor.CRUSHING) == 0 || ModList.get().isLoaded("create"))) {
+            try {
+                generated = RecipeProcessor.planGenerated(descriptor.toggles());
+            } catch (Exception e) {
+                LOGGER.error("Failed to regenerate recipes", e);
+            }
+        }
+        if (generated == null || !descriptor.matches(generated)) {
+            LOGGER.warn("Generated recipes differ from the server, requesting the full recipe list");
+            ModNetwork.CHANNEL.sendToServer(new RecipeResyncMessage());
+            return received;
+        }
+
+        List<Recipe<?>> recipes = new ArrayList<>();
+        Set<ResourceLocation> receivedIds = new HashSet<>();
+        received.forEach(recipe -> {
+            recipes.add(recipe);
+            receivedIds.add(recipe.getId());
+        });
+        // A recipe the server replaced under a generated id was sent, the manager rejects duplicate ids
+        generated.additions().forEach((id, recipe) -> {
+            if (!receivedIds.contains(id)) recipes.add(recipe);
+        });
+        LOGGER.info("Regenerated {} recipes in {} ms", generated.additions().size(), (System.nanoTime() - startTime) / 1_000_000);
+        return recipes;
+    }
+
+    private static Stripped strip(State current, ClientboundUpdateRecipesPacket packet) {
+        List<Recipe<?>> recipes = new ArrayList<>(packet.getRecipes().size());
+        int left = 0;
+        for (Recipe<?> recipe : packet.getRecipes()) {
+            // Only the generated instances themselves, a recipe that replaced one under the same id is sent
+            if (current.generated().get(recipe.getId()) == recipe) {
+                left++;
+            } else {
+                recipes.add(recipe);
+            }
+        }
+        if (left == 0) return new Stripped(packet, current, packet);
+        LOGGER.debug("Left {} generated recipes out of the recipe sync", left);
+        return new Stripped(packet, current, new ClientboundUpdateRecipesPacket(recipes));
+    }
+
+    private record State(Map<ResourceLocation, Recipe<?>> generated, PlanDescriptor descriptor) {
+    }
+
+    private record Deferred(PlanDescriptor descriptor, List<Recipe<?>> received) {
+    }
+
+    private record Stripped(ClientboundUpdateRecipesPacket original, State state, ClientboundUpdateRecipesPacket packet) {
+    }
+}
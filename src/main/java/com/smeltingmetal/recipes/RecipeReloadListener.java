@@ -1,42 +1,95 @@
 package com.smeltingmetal.recipes;
 
-import com.smeltingmetal.SmeltingMetalMod;
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.init.MaterialReloadListener;
+import com.smeltingmetal.init.ModData;
 import net.minecraft.core.RegistryAccess;
+import net.minecraft.server.ReloadableServerResources;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.tags.TagManager;
 import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.item.crafting.RecipeManager;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
 
-import static com.mojang.text2speech.Narrator.LOGGER;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
- * Reload listener that re-processes and replaces recipes whenever server datapacks are (re)loaded.
+ * Reload listener that re-processes and replaces recipes whenever server datapacks are (re)loaded,
+ * unless a current {@link PregeneratedRecipes} pack already contains them.
+ * Vanilla applies listeners in order, so after the barrier the tag and recipe managers of the same reload have
+ * applied. The plan is built on the background executor from there, with the materials of the reload and its
+ * item tags, which are not bound to the registry yet. {@link #processPending()} only swaps the finished plan in on
+ * the server thread once the reload is committed and its tags are bound, before players get the recipes.
  */
-public class RecipeReloadListener extends SimplePreparableReloadListener<Void> {
+public class RecipeReloadListener implements PreparableReloadListener {
+    private static final Logger LOGGER = LogUtils.getLogger();
 
+    private static volatile Pending pending;
+
+    private final RecipeManager recipeManager;
+    private final @Nullable TagManager tagManager;
     private final RegistryAccess registryAccess;
+    private final MaterialReloadListener materials;
 
-    public RecipeReloadListener(RegistryAccess registryAccess) {
+    public RecipeReloadListener(ReloadableServerResources serverResources, RegistryAccess registryAccess,
+                                MaterialReloadListener materials) {
+        this.recipeManager = serverResources.getRecipeManager();
+        this.tagManager = findTagManager(serverResources);
         this.registryAccess = registryAccess;
+        this.materials = materials;
     }
 
     @Override
-    protected @Nullable Void prepare(ResourceManager resourceManager, ProfilerFiller profilerFiller) {
-        // No asynchronous preparation is needed – all work is done synchronously in apply().
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager,
+                                          ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler,
+                                          Executor backgroundExecutor, Executor gameExecutor) {
+        return CompletableFuture.supplyAsync(() -> PregeneratedRecipes.read(resourceManager), backgroundExecutor)
+                .thenCompose(barrier::wait)
+                .thenAcceptBothAsync(materials.whenBuilt(), (marker, snapshot) -> {
+                    RecipeProfile profile = new RecipeProfile("reload");
+                    // Without a new snapshot the previous materials stay, so those are planned with
+                    RecipePlan plan = snapshot == null ? plan(marker, profile)
+                            : ModData.withSnapshot(snapshot, () -> plan(marker, profile));
+                    pending = new Pending(recipeManager, plan, profile);
+                }, backgroundExecutor);
+    }
+
+    private @Nullable RecipePlan plan(@Nullable PregeneratedRecipes.Marker marker, RecipeProfile profile) {
+        // The pack already holds the result, an empty plan still marks the manager as processed
+        if (marker != null && PregeneratedRecipes.isCurrent(marker)) return RecipePlan.EMPTY;
+        LOGGER.info("RecipeReloadListener → planning replacements");
+        IngredientItems ingredientItems = tagManager != null ? IngredientItems.of(tagManager) : IngredientItems.BOUND;
+        return RecipeProcessor.plan(recipeManager, registryAccess, ingredientItems, profile);
+    }
+
+    /**
+     * Applies the plan of the last reload, called after its tags were bound.
+     */
+    public static void processPending() {
+        Pending current = pending;
+        if (current == null) return;
+        pending = null;
+        if (current.plan() != null) RecipeProcessor.apply(current.recipeManager(), current.plan(), current.profile());
+        RecipeProfiler.publish(current.profile());
+    }
+
+    // The tag manager is only reachable through the listener list of the server resources
+    private static @Nullable TagManager findTagManager(ReloadableServerResources serverResources) {
+        for (PreparableReloadListener listener : serverResources.listeners()) {
+            if (listener instanceof TagManager tagManager) return tagManager;
+        }
+        LOGGER.warn("No tag manager in the server resources, tag ingredients resolve against the bound tags");
         return null;
     }
 
     @Override
-    protected void apply(@Nullable Void object, ResourceManager resourceManager, ProfilerFiller profilerFiller) {
-        LOGGER.info("RecipeReloadListener → running replacements");
-        RecipeManager recipeManager = SmeltingMetalMod.getRecipeManager();
-        if (recipeManager == null && SmeltingMetalMod.getServer() != null) {
-            recipeManager = SmeltingMetalMod.getServer().getRecipeManager();
-        }
+    public String getName() {
+        return "smeltingmetal:recipe_replacements";
+    }
 
-        if (recipeManager != null) {
-            RecipeProcessor.process(recipeManager, registryAccess);
-        }
+    private record Pending(RecipeManager recipeManager, @Nullable RecipePlan plan, RecipeProfile profile) {
     }
 }
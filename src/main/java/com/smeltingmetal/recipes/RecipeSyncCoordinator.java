@@ -0,0 +1,124 @@
+package com.smeltingmetal.recipes;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundUpdateRecipesPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends the server recipes to all players after recipe processing changed them.
+ * Requests are only made for plans that changed something, and all requests of a tick are
+ * coalesced into a single packet at the end of the tick, built once and shared by every connection.
+ * The bytes sent per sync are counted as the connections encode the packet, see {@link #onEncoded}.
+ */
+public class RecipeSyncCoordinator {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final AtomicBoolean pending = new AtomicBoolean();
+    private static final AtomicReference<RecipeProfile> pendingProfile = new AtomicReference<>();
+
+    private static volatile Sync lastSync;
+
+    /**
+     * The profile of the run that changed the recipes gets the sync as its last phase and is published after it.
+     */
+    public static void requestSync(RecipeProfile profile) {
+        RecipeProfile previous = pendingProfile.getAndSet(profile);
+        if (previous != null) RecipeProfiler.publish(previous);
+        pending.set(true);
+    }
+
+    /**
+     * Called at the end of every server tick, sends at most one packet.
+     */
+    public static void flush(MinecraftServer server) {
+        if (!pending.getAndSet(false)) return;
+        RecipeProfile profile = pendingProfile.getAndSet(null);
+        if (profile != null) profile.mark();
+
+        List<ServerPlayer> players = server.getPlayerList().getPlayers();
+        int sentRecipes = 0;
+        if (!players.isEmpty()) {
+            ClientboundUpdateRecipesPacket packet = new ClientboundUpdateRecipesPacket(server.getRecipeManager().getRecipes());
+            sentRecipes = packet.getRecipes().size();
+            // Set before sending, the connections may encode the packet right away
+            lastSync = new Sync(packet, Instant.now(), sentRecipes, players.size());
+            for (ServerPlayer player : players) {
+                player.connection.send(packet);
+            }
+            LOGGER.info("Synced {} recipes to {} players", sentRecipes, players.size());
+        }
+
+        if (profile != null) {
+            profile.lap("sync", sentRecipes, 0, 0);
+            RecipeProfiler.publish(profile);
+        }
+    }
+
+    /**
+     * Called from the packet encoder of every connection, on the network threads. Counts the packets of the last
+     * sync, including the copies that left out the generated recipes. Local connections do not encode and are not counted.
+     */
+    public static void onEncoded(Packet<?> packet, int bytes) {
+        Sync sync = lastSync;
+        if (sync != null && (packet == sync.packet || RecipeRegenerationSync.isStrippedCopy(packet, sync.packet))) {
+            sync.encodedPackets.incrementAndGet();
+            sync.encodedBytes.addAndGet(bytes);
+        }
+    }
+
+    public static @Nullable Sync getLastSync() {
+        return lastSync;
+    }
+
+    public static class Sync {
+        private final ClientboundUpdateRecipesPacket packet;
+        private final Instant sentAt;
+        private final int recipes;
+        private final int players;
+        private final AtomicInteger encodedPackets = new AtomicInteger();
+        private final AtomicLong encodedBytes = new AtomicLong();
+
+        private Sync(ClientboundUpdateRecipesPacket packet, Instant sentAt, int recipes, int players) {
+            this.packet = packet;
+            this.sentAt = sentAt;
+            this.recipes = recipes;
+            this.players = players;
+        }
+
+        public Instant getSentAt() {
+            return sentAt;
+        }
+
+        public int getRecipes() {
+            return recipes;
+        }
+
+        public int getPlayers() {
+            return players;
+        }
+
+        /**
+         * Connections that encoded their packet so far.
+         */
+        public int getEncodedPackets() {
+            return encodedPackets.get();
+        }
+
+        /**
+         * Encoded size summed over those connections, before compression.
+         */
+        public long getEncodedBytes() {
+            return encodedBytes.get();
+        }
+    }
+}
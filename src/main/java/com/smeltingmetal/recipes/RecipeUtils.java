@@ -1,7 +1,7 @@
 package com.smeltingmetal.recipes;
 
-import com.mojang.logging.LogUtils;
-import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.mixin.RecipeManagerAccessor;
+import com.smeltingmetal.utils.MaterialKeywords;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
@@ -12,70 +12,31 @@ import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.jetbrains.annotations.Nullable;
-import org.slf4j.Logger;
 
-import java.lang.reflect.Field;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 public class RecipeUtils {
-    private static final Logger LOGGER = LogUtils.getLogger();
-
     public static void createInRecipeInManager(RecipeManager recipeManager, ResourceLocation recipeId, Recipe<?> newRecipe) {
-        try {
-            Field recipesField = getRecipesField();
-            recipesField.setAccessible(true);
-            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipesByType = (Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>>) recipesField.get(recipeManager);
-
-            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> newRecipesByType = new HashMap<>(recipesByType);
-            Map<ResourceLocation, Recipe<?>> innerMap = new HashMap<>(newRecipesByType.getOrDefault(newRecipe.getType(), new HashMap<>()));
-            innerMap.put(recipeId, newRecipe);
-            newRecipesByType.put(newRecipe.getType(), Collections.unmodifiableMap(innerMap));
+        new RecipeBatch().add(recipeId, newRecipe).apply(recipeManager);
+    }
 
-            recipesField.set(recipeManager, Collections.unmodifiableMap(newRecipesByType));
+    public static void removeRecipeInManager(RecipeManager recipeManager, ResourceLocation recipeId) {
+        new RecipeBatch().remove(recipeId).apply(recipeManager);
+    }
 
-            Field byNameField = getByNameField();
-            byNameField.setAccessible(true);
-            Map<ResourceLocation, Recipe<?>> byName = (Map<ResourceLocation, Recipe<?>>) byNameField.get(recipeManager);
-            Map<ResourceLocation, Recipe<?>> newByName = new HashMap<>(byName);
-            newByName.put(recipeId, newRecipe);
-            byNameField.set(recipeManager, Collections.unmodifiableMap(newByName));
-        } catch (Exception e) {
-            LOGGER.error("Failed to update recipe manager for recipe: {}", recipeId, e);
-        }
+    static Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> getRecipesByType(RecipeManager recipeManager) {
+        return ((RecipeManagerAccessor) recipeManager).smeltingmetal$getRecipes();
     }
 
-    private static Field getRecipesField() throws NoSuchFieldException {
-        try {
-            return RecipeManager.class.getDeclaredField("recipes");
-        } catch (NoSuchFieldException ignored) {
-        }
-        for (Field field : RecipeManager.class.getDeclaredFields()) {
-            if (Map.class.isAssignableFrom(field.getType())) {
-                field.setAccessible(true);
-                return field;
-            }
-        }
-        throw new NoSuchFieldException("Could not find 'recipes' field in RecipeManager.");
+    static Map<ResourceLocation, Recipe<?>> getRecipesByName(RecipeManager recipeManager) {
+        return ((RecipeManagerAccessor) recipeManager).smeltingmetal$getByName();
     }
 
-    private static Field getByNameField() throws NoSuchFieldException {
-        try {
-            return RecipeManager.class.getDeclaredField("byName");
-        } catch (NoSuchFieldException ignored) {
-        }
-        int mapCount = 0;
-        for (Field field : RecipeManager.class.getDeclaredFields()) {
-            if (Map.class.isAssignableFrom(field.getType())) {
-                mapCount++;
-                if (mapCount == 2) {
-                    field.setAccessible(true);
-                    return field;
-                }
-            }
-        }
-        throw new NoSuchFieldException("Could not find 'byName' field in RecipeManager.");
+    static void setRecipes(RecipeManager recipeManager, Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipesByType,
+                           Map<ResourceLocation, Recipe<?>> byName) {
+        RecipeManagerAccessor accessor = (RecipeManagerAccessor) recipeManager;
+        accessor.smeltingmetal$setRecipes(recipesByType);
+        accessor.smeltingmetal$setByName(byName);
     }
 
     public static boolean isRecipeAllowed(Recipe<?> recipe, RegistryAccess registryAccess) {
@@ -87,8 +48,7 @@ public class RecipeUtils {
         for (ItemStack st : ing.getItems()) {
             ResourceLocation rid = ForgeRegistries.ITEMS.getKey(st.getItem());
             if (rid == null) continue;
-            String p = rid.getPath().toLowerCase();
-            if (ModConfig.CONFIG.blacklistKeywords.get().stream().anyMatch(p::contains)) {
+            if (MaterialKeywords.get().isBlacklisted(rid.getPath().toLowerCase())) {
                 return false;
             }
         }
@@ -96,14 +56,7 @@ public class RecipeUtils {
         Item result = recipe.getResultItem(registryAccess).getItem();
         ResourceLocation rid = ForgeRegistries.ITEMS.getKey(result);
         if (rid == null) return true;
-        String path = rid.getPath().toLowerCase();
-        for (String bad : ModConfig.CONFIG.blacklistKeywords.get()) {
-            if (path.contains(bad)) {
-                return false;
-            }
-        }
-
-        return true;
+        return !MaterialKeywords.get().isBlacklisted(rid.getPath().toLowerCase());
     }
 
     public static @Nullable ResourceLocation getRecipeResultLocation(RegistryAccess registryAccess, Recipe<?> recipe) {
@@ -114,50 +67,6 @@ public class RecipeUtils {
 
     public static boolean isItemNotBlacklisted(ResourceLocation rid) {
         if (rid == null) return true;
-        String p = rid.getPath().toLowerCase();
-        for (String bad : ModConfig.CONFIG.blacklistKeywords.get()) {
-            if (p.contains(bad)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    public static void removeRecipeInManager(RecipeManager recipeManager, ResourceLocation recipeId) {
-        try {
-            Field recipesField = getRecipesField();
-            recipesField.setAccessible(true);
-            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipesByType = (Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>>) recipesField.get(recipeManager);
-
-            // Get the recipe to find its type before removing
-            // Use byKey to get the actual recipe object, which contains the type
-            Recipe<?> recipeToRemove = recipeManager.byKey(recipeId).orElse(null);
-            if (recipeToRemove == null) {
-                LOGGER.warn("Attempted to remove recipe '{}' but it was not found in the manager.", recipeId);
-                return;
-            }
-            RecipeType<?> type = recipeToRemove.getType();
-
-            // Create mutable copies to modify
-            Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> newRecipesByType = new HashMap<>(recipesByType);
-            // Ensure the inner map exists before attempting to remove
-            Map<ResourceLocation, Recipe<?>> innerMap = new HashMap<>(newRecipesByType.getOrDefault(type, new HashMap<>()));
-            innerMap.remove(recipeId);
-            newRecipesByType.put(type, Collections.unmodifiableMap(innerMap));
-
-            // Set the new, unmodifiable map back to the field
-            recipesField.set(recipeManager, Collections.unmodifiableMap(newRecipesByType));
-
-            // Update the 'byName' map as well
-            Field byNameField = getByNameField();
-            byNameField.setAccessible(true);
-            Map<ResourceLocation, Recipe<?>> byName = (Map<ResourceLocation, Recipe<?>>) byNameField.get(recipeManager);
-            Map<ResourceLocation, Recipe<?>> newByName = new HashMap<>(byName);
-            newByName.remove(recipeId);
-            byNameField.set(recipeManager, Collections.unmodifiableMap(newByName));
-
-        } catch (Exception e) {
-            LOGGER.error("Failed to remove recipe: {}", recipeId, e);
-        }
+        return !MaterialKeywords.get().isBlacklisted(rid.getPath().toLowerCase());
     }
-}
\ No newline at end of file
+}
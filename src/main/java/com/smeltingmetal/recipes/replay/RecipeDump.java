@@ -0,0 +1,138 @@
+package com.smeltingmetal.recipes.replay;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.item.Item;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exports the raw recipe JSON, the item registry and the item tags of a running server for {@link RecipeReplay}.
+ * Enabled by starting the server with -Dsmeltingmetal.dump=<directory>. Recipes are captured while datapacks
+ * load and written once the tags of the same reload are bound, every reload overwrites the previous dump.
+ */
+public class RecipeDump extends SimpleJsonResourceReloadListener {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    public static final String DUMP_PROPERTY = "smeltingmetal.dump";
+    public static final String RECIPES_FILE = "recipes.json";
+    public static final String ITEMS_FILE = "items.txt";
+    public static final String TAGS_FILE = "item_tags.json";
+
+    private static volatile Map<ResourceLocation, JsonElement> pendingRecipes;
+
+    public RecipeDump() {
+        super(GSON, "recipes");
+    }
+
+    public static @Nullable Path getDirectory() {
+        String directory = System.getProperty(DUMP_PROPERTY);
+        return directory == null || directory.isBlank() ? null : Paths.get(directory);
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, JsonElement> recipes, ResourceManager resourceManager, ProfilerFiller profiler) {
+        pendingRecipes = new TreeMap<>(recipes);
+    }
+
+    /**
+     * Writes the recipes captured by the last reload, called after its tags were bound.
+     */
+    public static void writePending() {
+        Map<ResourceLocation, JsonElement> recipes = pendingRecipes;
+        Path directory = getDirectory();
+        if (recipes == null || directory == null) return;
+        pendingRecipes = null;
+
+        try {
+            Files.createDirectories(directory);
+            JsonObject recipesJson = new JsonObject();
+            recipes.forEach((id, json) -> recipesJson.add(id.toString(), json));
+            writeJson(directory.resolve(RECIPES_FILE), recipesJson);
+
+            List<String> items = new ArrayList<>();
+            BuiltInRegistries.ITEM.keySet().stream().sorted().forEach(id -> items.add(id.toString()));
+            Files.write(directory.resolve(ITEMS_FILE), items, StandardCharsets.UTF_8);
+
+            JsonObject tagsJson = new JsonObject();
+            BuiltInRegistries.ITEM.getTags()
+                    .sorted((a, b) -> a.getFirst().location().compareTo(b.getFirst().location()))
+                    .forEach(pair -> {
+                        JsonArray values = new JsonArray();
+                        for (Holder<Item> holder : pair.getSecond()) {
+                            values.add(BuiltInRegistries.ITEM.getKey(holder.value()).toString());
+                        }
+                        tagsJson.add(pair.getFirst().location().toString(), values);
+                    });
+            writeJson(directory.resolve(TAGS_FILE), tagsJson);
+
+            LOGGER.info("Dumped {} recipes, {} items and {} item tags to {}", recipes.size(), items.size(), tagsJson.size(), directory);
+        } catch (IOException e) {
+            LOGGER.error("Failed to dump recipes to {}", directory, e);
+        }
+    }
+
+    public static Map<ResourceLocation, JsonObject> readRecipes(Path directory) throws IOException {
+        Map<ResourceLocation, JsonObject> recipes = new LinkedHashMap<>();
+        readJson(directory.resolve(RECIPES_FILE)).entrySet()
+                .forEach(entry -> recipes.put(new ResourceLocation(entry.getKey()), entry.getValue().getAsJsonObject()));
+        return recipes;
+    }
+
+    public static List<ResourceLocation> readItems(Path directory) throws IOException {
+        List<ResourceLocation> items = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve(ITEMS_FILE), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) items.add(new ResourceLocation(line.trim()));
+        }
+        return items;
+    }
+
+    public static Map<ResourceLocation, List<ResourceLocation>> readTags(Path directory) throws IOException {
+        Map<ResourceLocation, List<ResourceLocation>> tags = new LinkedHashMap<>();
+        Path path = directory.resolve(TAGS_FILE);
+        if (!Files.exists(path)) return tags;
+        readJson(path).entrySet().forEach(entry -> {
+            List<ResourceLocation> values = new ArrayList<>();
+            entry.getValue().getAsJsonArray().forEach(value -> values.add(new ResourceLocation(value.getAsString())));
+            tags.put(new ResourceLocation(entry.getKey()), values);
+        });
+        return tags;
+    }
+
+    private static void writeJson(Path path, JsonElement json) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            GSON.toJson(json, writer);
+        }
+    }
+
+    private static JsonObject readJson(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        }
+    }
+}
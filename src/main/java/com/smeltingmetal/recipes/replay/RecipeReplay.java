@@ -0,0 +1,213 @@
+package com.smeltingmetal.recipes.replay;
+
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.init.ItemClassifier;
+import com.smeltingmetal.init.ModData;
+import com.smeltingmetal.recipes.IngredientItems;
+import com.smeltingmetal.recipes.RecipeBatch;
+import com.smeltingmetal.recipes.RecipeFingerprints;
+import com.smeltingmetal.recipes.RecipePlan;
+import com.smeltingmetal.recipes.RecipeProfile;
+import com.smeltingmetal.recipes.RecipeProcessor;
+import net.minecraft.core.Holder;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.smeltingmetal.SmeltingMetalMod.MODID;
+
+/**
+ * Replays a {@link RecipeDump} through the full recipe planning pipeline without a server.
+ * Runs inside the data run (./gradlew runData -PreplayDir=<directory> [-PconfigFile=<common config>]), where the mod
+ * and its registries are loaded: the config is read and the materials initialized, the dumped item tags are bound,
+ * the dumped recipes are parsed into a stand-in {@link RecipeManager} and planned without any plan cache. Per-phase wall time, peak heap and the resulting additions and removals are reported,
+ * the result is written to result.txt and compared with golden.txt when that exists.
+ */
+public class RecipeReplay {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final String REPLAY_PROPERTY = "smeltingmetal.replay";
+    public static final String CONFIG_PROPERTY = "smeltingmetal.config";
+    public static final String RESULT_FILE = "result.txt";
+    public static final String GOLDEN_FILE = "golden.txt";
+    private static final int MAX_LOGGED_DIFFERENCES = 20;
+
+    public static @Nullable Path getDirectory() {
+        String directory = System.getProperty(REPLAY_PROPERTY);
+        return directory == null || directory.isBlank() ? null : Paths.get(directory);
+    }
+
+    /**
+     * Data runs never load COMMON configs or fire common setup, so the config file is read into the spec here and
+     * the materials are initialized from it. Uses the file given with -PconfigFile, or the one in the config folder
+     * of the data run. Throws if the materials could not be initialized.
+     */
+    public static void initMaterials() {
+        if (!ModConfig.CONFIG_SPEC.isLoaded()) {
+            String property = System.getProperty(CONFIG_PROPERTY);
+            Path configFile = property == null || property.isBlank()
+                    ? FMLPaths.CONFIGDIR.get().resolve(MODID + "-common.toml") : Paths.get(property);
+            LOGGER.info("Reading config {}{}", configFile, Files.exists(configFile) ? "" : " (missing, using defaults)");
+            ModConfig.loadFromFile(configFile);
+        }
+        ModData.init();
+        if (!ModData.isInitialized()) {
+            throw new IllegalStateException("Materials could not be initialized from the config, see the log above");
+        }
+    }
+
+    /**
+     * Runs the replay and throws if the result differs from the golden file, so the data run fails.
+     */
+    public static void run(Path directory) throws IOException {
+        initMaterials();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        RecipeProfile profile = new RecipeProfile("replay");
+
+        LoadedDump dump = load(directory, profile);
+        RecipeManager recipeManager = dump.recipeManager();
+        RegistryAccess registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+
+        RecipePlan plan = RecipeProcessor.planUncached(recipeManager, registryAccess, profile);
+        RecipeBatch.Result applied = plan.apply(recipeManager);
+        profile.lap("apply", plan.additions().size() + plan.removals().size(), applied.added() + applied.replaced(), applied.removed());
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        List<String> result = describe(plan, registryAccess);
+        Files.write(directory.resolve(RESULT_FILE), result, StandardCharsets.UTF_8);
+
+        LOGGER.info("Replayed {} of {} dumped recipes ({} filtered, {} failed to parse), {} of {} dumped items missing, {} tags bound",
+                dump.recipes(), dump.dumpedRecipes(), dump.skipped(), dump.failed(), dump.missingItems(), dump.items(), dump.boundTags());
+        LOGGER.info("Replay phases: {}, total {} ms", profile, profile.getTotalNanos() / 1_000_000);
+        LOGGER.info("recipe_profile {}", profile.toJson());
+        LOGGER.info("Replay peak heap (sum of pool peaks): {} MB", peakHeap / (1024 * 1024));
+        LOGGER.info("Replay result: {} additions, {} removals, applied {} added, {} replaced, {} removed, written to {}",
+                plan.additions().size(), plan.removals().size(), applied.added(), applied.replaced(), applied.removed(),
+                directory.resolve(RESULT_FILE));
+
+        compareWithGolden(directory, result);
+    }
+
+    /**
+     * Binds the dumped item tags and parses the dumped recipes into a stand-in recipe manager.
+     */
+    public static LoadedDump load(Path directory, RecipeProfile profile) throws IOException {
+        // Items of the dump that this environment does not have, recipes using them fail to parse
+        List<ResourceLocation> items = RecipeDump.readItems(directory);
+        long missingItems = items.stream().filter(id -> !BuiltInRegistries.ITEM.containsKey(id)).count();
+        int boundTags = bindTags(RecipeDump.readTags(directory));
+        ItemClassifier.invalidate();
+        profile.lap("load_registry", items.size(), 0, 0);
+
+        Map<ResourceLocation, JsonObject> json = RecipeDump.readRecipes(directory);
+        List<Recipe<?>> recipes = new ArrayList<>(json.size());
+        int skipped = 0;
+        int failed = 0;
+        for (Map.Entry<ResourceLocation, JsonObject> entry : json.entrySet()) {
+            // Same filtering as the vanilla recipe manager
+            if (entry.getKey().getPath().startsWith("_")
+                    || !CraftingHelper.processConditions(entry.getValue(), "conditions", ICondition.IContext.EMPTY)) {
+                skipped++;
+                continue;
+            }
+            try {
+                Recipe<?> recipe = RecipeManager.fromJson(entry.getKey(), entry.getValue(), ICondition.IContext.EMPTY);
+                if (recipe != null) recipes.add(recipe);
+            } catch (RuntimeException e) {
+                failed++;
+                LOGGER.debug("Skipping replayed recipe {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        profile.lap("parse", json.size(), recipes.size(), 0);
+
+        RecipeManager recipeManager = new RecipeManager(ICondition.IContext.EMPTY);
+        recipeManager.replaceRecipes(recipes);
+        profile.lap("load_recipes", recipes.size(), 0, 0);
+        return new LoadedDump(recipeManager, recipes.size(), json.size(), skipped, failed, missingItems, items.size(), boundTags);
+    }
+
+    /**
+     * One sorted line per change, additions carry a fingerprint of the recipe so changed contents show up as well.
+     */
+    private static List<String> describe(RecipePlan plan, RegistryAccess registryAccess) {
+        TreeSet<String> lines = new TreeSet<>();
+        plan.removals().forEach(id -> lines.add("- " + id));
+        plan.additions().forEach((id, recipe) -> lines.add("+ " + id + " "
+                + Long.toHexString(RecipeFingerprints.recipe(recipe, registryAccess, IngredientItems.BOUND))));
+        return new ArrayList<>(lines);
+    }
+
+    private static void compareWithGolden(Path directory, List<String> result) throws IOException {
+        Path goldenPath = directory.resolve(GOLDEN_FILE);
+        if (!Files.exists(goldenPath)) {
+            LOGGER.info("No {} to compare with, copy {} to record the current behaviour", goldenPath, RESULT_FILE);
+            return;
+        }
+
+        TreeSet<String> golden = new TreeSet<>(Files.readAllLines(goldenPath, StandardCharsets.UTF_8));
+        golden.removeIf(String::isBlank);
+        TreeSet<String> missing = new TreeSet<>(golden);
+        result.forEach(missing::remove);
+        TreeSet<String> unexpected = new TreeSet<>(result);
+        unexpected.removeAll(golden);
+        if (missing.isEmpty() && unexpected.isEmpty()) {
+            LOGGER.info("Replay result matches {}", goldenPath);
+            return;
+        }
+
+        missing.stream().limit(MAX_LOGGED_DIFFERENCES).forEach(line -> LOGGER.error("Missing:    {}", line));
+        unexpected.stream().limit(MAX_LOGGED_DIFFERENCES).forEach(line -> LOGGER.error("Unexpected: {}", line));
+        throw new IllegalStateException("Replay result differs from " + goldenPath + ": " + missing.size()
+                + " missing and " + unexpected.size() + " unexpected lines");
+    }
+
+    // Replaces the item tags with the dumped ones, tags are not loaded outside a world
+    private static int bindTags(Map<ResourceLocation, List<ResourceLocation>> tags) {
+        Map<TagKey<Item>, List<Holder<Item>>> bound = new HashMap<>();
+        tags.forEach((tag, values) -> {
+            List<Holder<Item>> holders = new ArrayList<>(values.size());
+            for (ResourceLocation value : values) {
+                BuiltInRegistries.ITEM.getHolder(ResourceKey.create(Registries.ITEM, value)).ifPresent(holders::add);
+            }
+            bound.put(TagKey.create(Registries.ITEM, tag), holders);
+        });
+        if (!bound.isEmpty()) {
+            BuiltInRegistries.ITEM.bindTags(bound);
+        }
+        return bound.size();
+    }
+
+    public record LoadedDump(RecipeManager recipeManager, int recipes, int dumpedRecipes, int skipped, int failed,
+                             long missingItems, int items, int boundTags) {
+    }
+}
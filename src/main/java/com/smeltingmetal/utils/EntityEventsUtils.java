@@ -1,14 +1,20 @@
 package com.smeltingmetal.utils;
 
+import com.smeltingmetal.data.GemHandles;
 import com.smeltingmetal.data.GemProperties;
 import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.data.MetalHandles;
 import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.MaterialHandles;
 import com.smeltingmetal.init.ModData;
 import com.smeltingmetal.init.ModItems;
 import com.smeltingmetal.objects.mold.BlockMoldEntity;
 import com.smeltingmetal.objects.mold.ItemMold;
+import com.smeltingmetal.objects.molten.MoltenMetalBlock;
 import com.smeltingmetal.objects.molten.MoltenMetalBucket;
+import com.smeltingmetal.objects.molten.MoltenMetalItem;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
@@ -17,31 +23,86 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class EntityEventsUtils {
 
     protected static final int COOL_TICKS = 300; // 15 seconds
 
-    public static boolean handleStackAutoCooling(ItemStack containerStack, ItemEntity entity) {
-        Level level = entity.level();
-        BlockPos pos = entity.blockPosition();
-
-        if (level.getBlockState(pos).is(Blocks.FIRE)) return false;
-        boolean shouldCool = entity.getAge() >= COOL_TICKS;
+    /**
+     * Whether a dropped stack has anything to cool, empty and clay molds never do.
+     */
+    public static boolean canAutoCool(ItemStack stack) {
+        Item item = stack.getItem();
+        if (item instanceof ItemMold moldItem) {
+            return moldItem.getMaterialType() != MaterialType.CLAY
+                    && (ModUtils.getMetalPropertiesFromStack(stack) != null || ModUtils.getGemPropertiesFromStack(stack) != null);
+        }
+        return (item instanceof MoltenMetalItem || item instanceof MoltenMetalBlock) && ModUtils.getMetalPropertiesFromStack(stack) != null;
+    }
 
-        ItemStack cooledStack = ServerEventsUtils.getCooledContentStack(containerStack, level, pos, shouldCool);
-        if (cooledStack == null || cooledStack.isEmpty()) return false;
+    /**
+     * Cools the dropped stacks of one block together. Every mold of a stack is cooled on its own, then identical
+     * results and returned molds are merged up to their max stack size and handed back to the cooled entities,
+     * new entities are only spawned when the merged stacks do not fit.
+     */
+    public static void handleGroupAutoCooling(ServerLevel level, BlockPos pos, List<ItemEntity> entities) {
+        if (level.getBlockState(pos).is(Blocks.FIRE)) return;
+
+        List<ItemEntity> cooledEntities = new ArrayList<>();
+        List<ItemStack> outputs = new ArrayList<>();
+        for (ItemEntity entity : entities) {
+            boolean shouldCool = entity.getAge() >= COOL_TICKS;
+            ItemStack remaining = entity.getItem().copy();
+            boolean isMold = remaining.getItem() instanceof ItemMold;
+            List<ItemStack> entityOutputs = new ArrayList<>();
+            while (!remaining.isEmpty()) {
+                ItemStack single = remaining.split(1);
+                ItemStack cooledStack = ServerEventsUtils.getCooledContentStack(single, level, pos, shouldCool, false);
+                if (cooledStack == null || cooledStack.isEmpty()) {
+                    remaining.grow(1);
+                    break;
+                }
+                entityOutputs.add(cooledStack);
+                // Netherite molds come back empty, other molds and molten items are used up
+                if (isMold && !single.isEmpty()) entityOutputs.add(single);
+            }
+            if (entityOutputs.isEmpty()) continue;
+            if (!remaining.isEmpty()) entityOutputs.add(remaining);
+            cooledEntities.add(entity);
+            outputs.addAll(entityOutputs);
+        }
+        if (cooledEntities.isEmpty()) return;
+
+        List<ItemStack> merged = mergeStacks(outputs);
+        for (int i = 0; i < Math.max(merged.size(), cooledEntities.size()); i++) {
+            if (i >= merged.size()) {
+                cooledEntities.get(i).discard();
+            } else if (i < cooledEntities.size()) {
+                cooledEntities.get(i).setItem(merged.get(i));
+            } else {
+                level.addFreshEntity(new ItemEntity(level, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, merged.get(i)));
+            }
+        }
+        ServerEventsUtils.playCoolingEffects(level, pos);
+    }
 
-        // Drop the cooled item
-        if (containerStack.getItem() instanceof ItemMold && !containerStack.isEmpty()) {
-            ItemEntity itemEntity = new ItemEntity(level,
-                    pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5,
-                    containerStack);
-            level.addFreshEntity(itemEntity);
+    private static List<ItemStack> mergeStacks(List<ItemStack> stacks) {
+        List<ItemStack> merged = new ArrayList<>();
+        for (ItemStack stack : stacks) {
+            for (ItemStack target : merged) {
+                if (stack.isEmpty()) break;
+                if (ItemStack.isSameItemSameTags(target, stack) && target.getCount() < target.getMaxStackSize()) {
+                    int moved = Math.min(stack.getCount(), target.getMaxStackSize() - target.getCount());
+                    target.grow(moved);
+                    stack.shrink(moved);
+                }
+            }
+            if (!stack.isEmpty()) merged.add(stack);
         }
-        entity.setItem(cooledStack);
-        return true;
+        return merged;
     }
 
     public static boolean fillBlockMold(Player player, BlockMoldEntity be, ItemStack heldStack, String content) {
@@ -72,13 +133,14 @@ public class EntityEventsUtils {
 
         // Create the metal block result
         String shape = be.getShape();
-        Item resultItem = ForgeRegistries.ITEMS.getValue(
-                ServerEventsUtils.getItemResult(
-                        shape,
-                        isMetal ? metalProps.blockResults() : gemProperties.blockResults(),
-                        isMetal ? metalProps.block() : gemProperties.block())
-        );
-        if (resultItem == null || resultItem == Items.AIR) return false;
+        MetalHandles metalHandles = isMetal ? MaterialHandles.getMetal(content) : null;
+        GemHandles gemHandles = isMetal ? null : MaterialHandles.getGem(content);
+        if (metalHandles == null && gemHandles == null) return false;
+        Item resultItem = ServerEventsUtils.getItemResult(
+                shape,
+                isMetal ? metalHandles.blockResults() : gemHandles.blockResults(),
+                isMetal ? metalHandles.block() : gemHandles.block());
+        if (resultItem == null) return false;
         ItemStack resultStack = new ItemStack(resultItem);
 
         // Drop the resulting item
@@ -109,10 +171,10 @@ public class EntityEventsUtils {
     public static boolean fillBucketFromBlockMold(Player player, BlockMoldEntity be, ItemStack heldStack) {
         if (!be.hasContent()) return false;
         String metalType = be.getContent();
-        MetalProperties metalProps = ModUtils.getMetalProperties(metalType);
-        if (metalProps == null) return false;
+        MetalHandles metalHandles = MaterialHandles.getMetal(metalType);
+        if (metalHandles == null) return false;
 
-        Item bucketItem = ForgeRegistries.ITEMS.getValue(metalProps.bucket());
+        Item bucketItem = metalHandles.bucket();
         if (bucketItem == null) return false;
         ItemStack bucketStack = new ItemStack(bucketItem);
         if (bucketItem instanceof MoltenMetalBucket) {
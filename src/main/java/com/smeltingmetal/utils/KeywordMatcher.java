@@ -0,0 +1,163 @@
+package com.smeltingmetal.utils;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over groups of keywords.
+ * A single pass over the text reports, for every group, the lowest index of a keyword
+ * the text contains, so "first configured keyword wins" ordering is kept
+ * no matter where in the text the keywords occur.
+ */
+public class KeywordMatcher {
+    public static final int NO_MATCH = -1;
+
+    private final int groupCount;
+    private final Long2IntOpenHashMap transitions;
+    private final int[] fail;
+    // Lowest keyword index per node and group, including everything reachable through fail links
+    private final int[] outputs;
+    private final boolean[] hasOutput;
+
+    private KeywordMatcher(int groupCount, Long2IntOpenHashMap transitions, int[] fail, int[] outputs, boolean[] hasOutput) {
+        this.groupCount = groupCount;
+        this.transitions = transitions;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.hasOutput = hasOutput;
+    }
+
+    public static Builder builder(int groupCount) {
+        return new Builder(groupCount);
+    }
+
+    /**
+     * Scans the text once and returns the lowest matching keyword index for each group,
+     * or {@link #NO_MATCH} for groups without a match.
+     */
+    public int[] match(String text) {
+        int[] result = new int[groupCount];
+        Arrays.fill(result, NO_MATCH);
+        int state = 0;
+        collect(state, result);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transitions.get(key(state, c));
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = transitions.get(key(state, c));
+            }
+            state = Math.max(next, 0);
+            collect(state, result);
+        }
+        return result;
+    }
+
+    private void collect(int state, int[] result) {
+        if (!hasOutput[state]) return;
+        int offset = state * groupCount;
+        for (int group = 0; group < groupCount; group++) {
+            int index = outputs[offset + group];
+            if (index != NO_MATCH && (result[group] == NO_MATCH || index < result[group])) {
+                result[group] = index;
+            }
+        }
+    }
+
+    private static long key(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+
+    public static class Builder {
+        private final int groupCount;
+        private final Long2IntOpenHashMap transitions = new Long2IntOpenHashMap();
+        private final List<int[]> nodeOutputs = new ArrayList<>();
+        private final List<IntArrayList> children = new ArrayList<>();
+        private final IntArrayList nodeChars = new IntArrayList();
+        private final int[] nextIndex;
+
+        private Builder(int groupCount) {
+            this.groupCount = groupCount;
+            this.nextIndex = new int[groupCount];
+            transitions.defaultReturnValue(NO_MATCH);
+            newNode(0);
+        }
+
+        /**
+         * Adds a keyword to the group, its index is the number of keywords added to that group before it.
+         */
+        public Builder add(int group, String keyword) {
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                int next = transitions.get(key(state, c));
+                if (next < 0) {
+                    next = newNode(c);
+                    transitions.put(key(state, c), next);
+                    children.get(state).add(next);
+                }
+                state = next;
+            }
+            int[] output = nodeOutputs.get(state);
+            int index = nextIndex[group]++;
+            if (output[group] == NO_MATCH) {
+                output[group] = index;
+            }
+            return this;
+        }
+
+        private int newNode(int c) {
+            int[] output = new int[groupCount];
+            Arrays.fill(output, NO_MATCH);
+            nodeOutputs.add(output);
+            children.add(new IntArrayList());
+            nodeChars.add(c);
+            return nodeOutputs.size() - 1;
+        }
+
+        public KeywordMatcher build() {
+            int nodeCount = nodeOutputs.size();
+            int[] fail = new int[nodeCount];
+            int[] outputs = new int[nodeCount * groupCount];
+            boolean[] hasOutput = new boolean[nodeCount];
+            System.arraycopy(nodeOutputs.get(0), 0, outputs, 0, groupCount);
+            hasOutput[0] = Arrays.stream(nodeOutputs.get(0)).anyMatch(index -> index != NO_MATCH);
+
+            // Breadth-first, so fail targets are always finished before their dependants
+            IntArrayList queue = new IntArrayList(children.get(0));
+            for (int head = 0; head < queue.size(); head++) {
+                int node = queue.getInt(head);
+                for (int child : children.get(node)) {
+                    char c = (char) nodeChars.getInt(child);
+                    int state = fail[node];
+                    int next = transitions.get(key(state, c));
+                    while (next < 0 && state != 0) {
+                        state = fail[state];
+                        next = transitions.get(key(state, c));
+                    }
+                    fail[child] = next < 0 || next == child ? 0 : next;
+                    queue.add(child);
+                }
+
+                int[] own = nodeOutputs.get(node);
+                int offset = node * groupCount;
+                int failOffset = fail[node] * groupCount;
+                for (int group = 0; group < groupCount; group++) {
+                    int index = own[group];
+                    int inherited = outputs[failOffset + group];
+                    if (index == NO_MATCH || (inherited != NO_MATCH && inherited < index)) {
+                        index = inherited;
+                    }
+                    outputs[offset + group] = index;
+                    hasOutput[node] |= index != NO_MATCH;
+                }
+            }
+
+            return new KeywordMatcher(groupCount, transitions, fail, outputs, hasOutput);
+        }
+    }
+}
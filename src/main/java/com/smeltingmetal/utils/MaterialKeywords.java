@@ -0,0 +1,176 @@
+package com.smeltingmetal.utils;
+
+import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.data.ItemClassification;
+import com.smeltingmetal.data.MaterialRole;
+import com.smeltingmetal.init.MaterialSnapshot;
+import com.smeltingmetal.init.ModData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled keyword lookups for metal and gem keys, shape synonyms, blacklist and block keywords.
+ * Rebuilt when the config is (re)loaded, every query is a single pass over the given path.
+ * Threads planning with a scoped {@link ModData} snapshot get keywords compiled for that snapshot.
+ */
+public class MaterialKeywords {
+    private static final int METAL = 0;
+    private static final int GEM = 1;
+    private static final int ITEM_SHAPE = 2;
+    private static final int BLOCK_SHAPE = 3;
+    private static final int BLACKLIST = 4;
+    private static final int BLOCK = 5;
+    private static final int GROUP_COUNT = 6;
+
+    private static volatile MaterialKeywords current = new MaterialKeywords(
+            KeywordMatcher.builder(GROUP_COUNT).build(), List.of(), List.of(), List.of(), List.of());
+    private static volatile Scoped scoped;
+
+    private final KeywordMatcher matcher;
+    private final List<String> metalKeys;
+    private final List<String> gemKeys;
+    private final List<String> itemShapeKeys;
+    private final List<String> blockShapeKeys;
+
+    private MaterialKeywords(KeywordMatcher matcher, List<String> metalKeys, List<String> gemKeys,
+                             List<String> itemShapeKeys, List<String> blockShapeKeys) {
+        this.matcher = matcher;
+        this.metalKeys = metalKeys;
+        this.gemKeys = gemKeys;
+        this.itemShapeKeys = itemShapeKeys;
+        this.blockShapeKeys = blockShapeKeys;
+    }
+
+    public static MaterialKeywords get() {
+        MaterialSnapshot materials = ModData.getScopedSnapshot();
+        return materials == null ? current : getScoped(materials);
+    }
+
+    public static void rebuild() {
+        if (ModConfig.CONFIG == null || ModConfig.CONFIG.blacklistKeywords == null) return;
+        current = of(ModData.getSnapshot());
+    }
+
+    // Compiled once per scoped snapshot, concurrent planner chunks may both compile the first time
+    private static MaterialKeywords getScoped(MaterialSnapshot materials) {
+        Scoped cached = scoped;
+        if (cached == null || cached.materials() != materials) {
+            cached = new Scoped(materials, of(materials));
+            scoped = cached;
+        }
+        return cached.keywords();
+    }
+
+    private static MaterialKeywords of(MaterialSnapshot materials) {
+        return of(materials.metals().keySet(), materials.gems().keySet(),
+                materials.itemShapes(), materials.blockShapes(),
+                ModConfig.CONFIG.blacklistKeywords.get(), ModConfig.CONFIG.blockKeywords.get());
+    }
+
+    /**
+     * Compiles the given keys and keywords, {@link #rebuild()} uses the loaded ModData and config.
+     */
+    public static MaterialKeywords of(Iterable<String> metals, Iterable<String> gems,
+                                      Map<String, List<String>> itemShapes, Map<String, List<String>> blockShapes,
+                                      Iterable<? extends String> blacklistKeywords, Iterable<? extends String> blockKeywords) {
+        KeywordMatcher.Builder builder = KeywordMatcher.builder(GROUP_COUNT);
+
+        // Keep the iteration order of the old loops, the lowest index is the first match
+        List<String> metalKeys = addContentKeys(builder, METAL, metals);
+        List<String> gemKeys = addContentKeys(builder, GEM, gems);
+        List<String> itemShapeKeys = addShapeKeys(builder, ITEM_SHAPE, itemShapes);
+        List<String> blockShapeKeys = addShapeKeys(builder, BLOCK_SHAPE, blockShapes);
+        blacklistKeywords.forEach(keyword -> builder.add(BLACKLIST, keyword));
+        blockKeywords.forEach(keyword -> builder.add(BLOCK, keyword));
+
+        return new MaterialKeywords(builder.build(), metalKeys, gemKeys, itemShapeKeys, blockShapeKeys);
+    }
+
+    private static List<String> addContentKeys(KeywordMatcher.Builder builder, int group, Iterable<String> keys) {
+        List<String> contentKeys = new ArrayList<>();
+        for (String key : keys) {
+            String keyName = key.contains(":") ? key.split(":")[1] : key;
+            builder.add(group, keyName.toLowerCase());
+            contentKeys.add(key);
+        }
+        return List.copyOf(contentKeys);
+    }
+
+    private static List<String> addShapeKeys(KeywordMatcher.Builder builder, int group, Map<String, List<String>> shapeMap) {
+        List<String> shapeKeys = new ArrayList<>();
+        if (shapeMap == null) return shapeKeys;
+        for (Map.Entry<String, List<String>> entry : shapeMap.entrySet()) {
+            for (String shapeValue : entry.getValue()) {
+                builder.add(group, shapeValue.toLowerCase());
+                shapeKeys.add(entry.getKey());
+            }
+        }
+        return List.copyOf(shapeKeys);
+    }
+
+    /**
+     * First metal key contained in the path, then first gem key, or null.
+     */
+    public String getContentKey(String path) {
+        int[] matches = matcher.match(path);
+        return getContentKey(matches);
+    }
+
+    /**
+     * Same as {@link #getContentKey(String)}, but null for blacklisted paths.
+     */
+    public String getAllowedContentKey(String path) {
+        int[] matches = matcher.match(path);
+        return matches[BLACKLIST] != KeywordMatcher.NO_MATCH ? null : getContentKey(matches);
+    }
+
+    public String getGemKey(String path) {
+        int index = matcher.match(path)[GEM];
+        return index == KeywordMatcher.NO_MATCH ? null : gemKeys.get(index);
+    }
+
+    /**
+     * First shape whose synonyms are contained in the path, or an empty string for blacklisted paths and no match.
+     */
+    public String getShapeKey(String path, boolean isBlock) {
+        int[] matches = matcher.match(path);
+        if (matches[BLACKLIST] != KeywordMatcher.NO_MATCH) return "";
+        int index = matches[isBlock ? BLOCK_SHAPE : ITEM_SHAPE];
+        if (index == KeywordMatcher.NO_MATCH) return "";
+        return (isBlock ? blockShapeKeys : itemShapeKeys).get(index);
+    }
+
+    /**
+     * All keyword groups for a single item path at once.
+     */
+    public ItemClassification classify(String path, MaterialRole role) {
+        int[] matches = matcher.match(path);
+        return new ItemClassification(
+                matches[METAL] == KeywordMatcher.NO_MATCH ? null : metalKeys.get(matches[METAL]),
+                matches[GEM] == KeywordMatcher.NO_MATCH ? null : gemKeys.get(matches[GEM]),
+                matches[ITEM_SHAPE] == KeywordMatcher.NO_MATCH ? "" : itemShapeKeys.get(matches[ITEM_SHAPE]),
+                matches[BLOCK_SHAPE] == KeywordMatcher.NO_MATCH ? "" : blockShapeKeys.get(matches[BLOCK_SHAPE]),
+                matches[BLOCK] != KeywordMatcher.NO_MATCH,
+                matches[BLACKLIST] != KeywordMatcher.NO_MATCH,
+                role);
+    }
+
+    public boolean isBlacklisted(String path) {
+        return matcher.match(path)[BLACKLIST] != KeywordMatcher.NO_MATCH;
+    }
+
+    public boolean isBlock(String path) {
+        return matcher.match(path)[BLOCK] != KeywordMatcher.NO_MATCH;
+    }
+
+    private String getContentKey(int[] matches) {
+        if (matches[METAL] != KeywordMatcher.NO_MATCH) return metalKeys.get(matches[METAL]);
+        if (matches[GEM] != KeywordMatcher.NO_MATCH) return gemKeys.get(matches[GEM]);
+        return null;
+    }
+
+    private record Scoped(MaterialSnapshot materials, MaterialKeywords keywords) {
+    }
+}
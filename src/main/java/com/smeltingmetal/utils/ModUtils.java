@@ -1,6 +1,5 @@
 package com.smeltingmetal.utils;
 
-import com.smeltingmetal.config.ModConfig;
 import com.smeltingmetal.data.GemProperties;
 import com.smeltingmetal.data.MetalProperties;
 import com.smeltingmetal.init.ModData;
@@ -12,7 +11,6 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 public class ModUtils {
@@ -83,38 +81,15 @@ public class ModUtils {
     }
 
     public static String getContentKeyFromAllowedString(String path) {
-        String pathLower = path.toLowerCase();
-        for (String bad : ModConfig.CONFIG.blacklistKeywords.get()) {
-            if (pathLower.contains(bad)) return null;
-        }
-        return getContentKeyFromString(pathLower);
+        return MaterialKeywords.get().getAllowedContentKey(path.toLowerCase());
     }
 
     public static String getContentKeyFromString(String pathLower) {
-        for (String metalKey : getAllMetalProperties().keySet()) {
-            String keyName = metalKey.contains(":") ? metalKey.split(":")[1] : metalKey;
-            if (pathLower.contains(keyName.toLowerCase())) return metalKey;
-        }
-        for (String gemKey : getAllGemProperties().keySet()) {
-            String keyName = gemKey.contains(":") ? gemKey.split(":")[1] : gemKey;
-            if (pathLower.contains(keyName.toLowerCase())) return gemKey;
-        }
-
-        return null;
+        return MaterialKeywords.get().getContentKey(pathLower);
     }
 
     public static String getShapeKeyFromString(String path, boolean isBlock) {
-        String pathLower = path.toLowerCase();
-        if (ModConfig.CONFIG.blacklistKeywords.get().stream().anyMatch(pathLower::contains)) {
-            return "";
-        }
-        Map<String, List<String>> itemShapeMap = isBlock ? ModData.getBlockShapeMap() : ModData.getItemShapeMap();
-        return itemShapeMap.entrySet().stream()
-                .filter(entry -> entry.getValue().stream()
-                        .anyMatch(shapeValue -> pathLower.contains(shapeValue.toLowerCase())))
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElse("");
+        return MaterialKeywords.get().getShapeKey(path.toLowerCase(), isBlock);
     }
 
     public static String capitalizeString(String metalType) {
@@ -123,8 +98,7 @@ public class ModUtils {
 
     public static boolean isItemBlock(ResourceLocation itemId) {
         if (itemId == null) return false;
-        String path = itemId.getPath();
-        return ModConfig.CONFIG.blockKeywords.get().stream().anyMatch(path::contains);
+        return MaterialKeywords.get().isBlock(itemId.getPath());
     }
 
     public static int getContentId(String content) {
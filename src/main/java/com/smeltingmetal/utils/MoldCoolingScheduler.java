@@ -0,0 +1,175 @@
+package com.smeltingmetal.utils;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Cools dropped molds and molten items of one level without running the cooling checks every tick.
+ * Entities with something to cool are tracked when they join the level and wait in a timing wheel slot until
+ * {@link EntityEventsUtils#COOL_TICKS} after they were dropped. Before that, fluid contact is only checked
+ * again when the entity moves to another block or the block at its position changes. Due entities that could not
+ * cool yet, such as molds lying in fire, wait for the same events and are otherwise retried with a growing delay.
+ * Only used on the server thread.
+ * Entities checked in the same tick are cooled together per block, so a pile of molds merges its results and
+ * returned molds into few entities and plays the effects once.
+ */
+public class MoldCoolingScheduler {
+    // Power of two above COOL_TICKS, entities due later wait for more than one turn of the wheel
+    private static final int WHEEL_SIZE = 512;
+    // Retry delays of due entities that did not cool, doubled after every failed try
+    private static final int MIN_RETRY_TICKS = 20;
+    private static final int MAX_RETRY_TICKS = 320;
+    private static final Map<ServerLevel, MoldCoolingScheduler> schedulers = new WeakHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[] wheel = new List[WHEEL_SIZE];
+    private final List<Entry> tracked = new ArrayList<>();
+    private final Set<ItemEntity> trackedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Positions whose block changed since the last tick
+    private final LongSet changedBlocks = new LongOpenHashSet();
+    // Entries to cool this tick, grouped by block
+    private final Long2ObjectMap<List<Entry>> pending = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Starts tracking a dropped entity, stacks without anything to cool are ignored.
+     */
+    public static void track(ItemEntity entity) {
+        if (!(entity.level() instanceof ServerLevel level) || !EntityEventsUtils.canAutoCool(entity.getItem())) return;
+        schedulers.computeIfAbsent(level, key -> new MoldCoolingScheduler()).add(entity, level.getGameTime());
+    }
+
+    public static void onBlockChanged(ServerLevel level, BlockPos pos) {
+        MoldCoolingScheduler scheduler = schedulers.get(level);
+        if (scheduler != null && !scheduler.tracked.isEmpty()) scheduler.changedBlocks.add(pos.asLong());
+    }
+
+    public static void tick(ServerLevel level) {
+        MoldCoolingScheduler scheduler = schedulers.get(level);
+        if (scheduler != null) scheduler.tick(level, level.getGameTime());
+    }
+
+    public static void unload(ServerLevel level) {
+        schedulers.remove(level);
+    }
+
+    private void add(ItemEntity entity, long now) {
+        if (!trackedEntities.add(entity)) return;
+        // Position unknown, so the next tick checks it, the entity may have been dropped straight into a fluid
+        Entry entry = new Entry(entity);
+        tracked.add(entry);
+        schedule(entry, now + Math.max(1, EntityEventsUtils.COOL_TICKS - entity.getAge()));
+    }
+
+    private void schedule(Entry entry, long dueTick) {
+        entry.dueTick = dueTick;
+        int slot = (int) (dueTick & (WHEEL_SIZE - 1));
+        if (wheel[slot] == null) wheel[slot] = new ArrayList<>();
+        wheel[slot].add(entry);
+    }
+
+    private void tick(ServerLevel level, long now) {
+        // Cooling drops molds that join the level and get tracked while this runs, they are checked next tick
+        int size = tracked.size();
+        for (int i = 0; i < size; i++) {
+            Entry entry = tracked.get(i);
+            if (entry.removed) continue;
+            if (entry.entity.isRemoved()) {
+                untrack(entry);
+                continue;
+            }
+            long pos = entry.entity.blockPosition().asLong();
+            if (pos != entry.checkedPos || changedBlocks.contains(pos)) {
+                entry.checkedPos = pos;
+                queue(entry, pos);
+            }
+        }
+        changedBlocks.clear();
+
+        int slot = (int) (now & (WHEEL_SIZE - 1));
+        List<Entry> due = wheel[slot];
+        if (due != null) {
+            wheel[slot] = null;
+            for (Entry entry : due) {
+                if (entry.removed) continue;
+                if (entry.dueTick > now) {
+                    schedule(entry, entry.dueTick);
+                } else if (entry.entity.getAge() < EntityEventsUtils.COOL_TICKS) {
+                    // Merged stacks keep the younger age, items without a lifetime never get old enough
+                    schedule(entry, now + Math.max(1, EntityEventsUtils.COOL_TICKS - entry.entity.getAge()));
+                } else {
+                    entry.due = true;
+                    queue(entry, entry.entity.blockPosition().asLong());
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) cool(level, now);
+        if (size > 0) tracked.removeIf(entry -> entry.removed);
+    }
+
+    private void queue(Entry entry, long pos) {
+        if (entry.queued) return;
+        if (entry.entity.isRemoved() || !EntityEventsUtils.canAutoCool(entry.entity.getItem())) {
+            untrack(entry);
+            return;
+        }
+        entry.queued = true;
+        pending.computeIfAbsent(pos, key -> new ArrayList<>()).add(entry);
+    }
+
+    // Cools the queued entities in a fluid or old enough, the others wait for the next move or block change
+    private void cool(ServerLevel level, long now) {
+        for (Long2ObjectMap.Entry<List<Entry>> group : pending.long2ObjectEntrySet()) {
+            List<ItemEntity> entities = new ArrayList<>(group.getValue().size());
+            group.getValue().forEach(entry -> entities.add(entry.entity));
+            EntityEventsUtils.handleGroupAutoCooling(level, BlockPos.of(group.getLongKey()), entities);
+
+            // Merging discards entities and hands finished stacks to others
+            for (Entry entry : group.getValue()) {
+                entry.queued = false;
+                if (entry.entity.isRemoved() || !EntityEventsUtils.canAutoCool(entry.entity.getItem())) {
+                    untrack(entry);
+                } else if (entry.due) {
+                    // Old enough but not cooled, moves and block changes still queue it before the retry
+                    entry.retryTicks = entry.retryTicks == 0 ? MIN_RETRY_TICKS : Math.min(entry.retryTicks * 2, MAX_RETRY_TICKS);
+                    schedule(entry, now + entry.retryTicks);
+                }
+                entry.due = false;
+            }
+        }
+        pending.clear();
+    }
+
+    private void untrack(Entry entry) {
+        entry.removed = true;
+        trackedEntities.remove(entry.entity);
+    }
+
+    private static class Entry {
+        private final ItemEntity entity;
+        private long checkedPos = Long.MIN_VALUE;
+        private long dueTick;
+        private boolean queued;
+        // Taken from its wheel slot this tick
+        private boolean due;
+        private int retryTicks;
+        private boolean removed;
+
+        private Entry(ItemEntity entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.smeltingmetal.utils;
 
-import com.smeltingmetal.config.ModConfig;
+import com.smeltingmetal.data.GemHandles;
 import com.smeltingmetal.data.GemProperties;
 import com.smeltingmetal.data.MaterialType;
+import com.smeltingmetal.data.MetalHandles;
 import com.smeltingmetal.data.MetalProperties;
+import com.smeltingmetal.init.ItemClassifier;
+import com.smeltingmetal.init.MaterialHandles;
 import com.smeltingmetal.init.ModBlocks;
 import com.smeltingmetal.init.ModData;
 import com.smeltingmetal.init.ModItems;
@@ -15,7 +18,6 @@ import com.smeltingmetal.objects.molten.MoltenMetalBlock;
 import com.smeltingmetal.objects.molten.MoltenMetalItem;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -26,13 +28,12 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.BucketItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
-import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -85,7 +86,8 @@ public class ServerEventsUtils {
             ModUtils.setContentToStack(newItemStack, metalProps.name());
             ModUtils.setShapeToStack(newItemStack, ModUtils.getShapeFromStack(containerStack), false);
         } else if (containerStack.getItem() instanceof BucketItem) {
-            Item bucketItem = ForgeRegistries.ITEMS.getValue(metalProps.bucket());
+            MetalHandles handles = MaterialHandles.getMetal(metalProps.name());
+            Item bucketItem = handles == null ? null : handles.bucket();
             if (bucketItem == null) return; // should not happen
             newItemStack = new ItemStack(bucketItem);
             ModUtils.setContentToStack(newItemStack, metalProps.name());
@@ -111,6 +113,15 @@ public class ServerEventsUtils {
     }
 
     public static ItemStack getCooledContentStack(ItemStack contentStack, Level level, BlockPos pos, boolean shouldCool) {
+        return getCooledContentStack(contentStack, level, pos, shouldCool, true);
+    }
+
+    /**
+     * Same as {@link #getCooledContentStack(ItemStack, Level, BlockPos, boolean)}, batched cooling plays the
+     * effects once per block instead of once per stack.
+     */
+    public static ItemStack getCooledContentStack(ItemStack contentStack, Level level, BlockPos pos, boolean shouldCool,
+                                                  boolean playEffects) {
         if (level.isClientSide()) return null;
         MetalProperties metalProps = ModUtils.getMetalPropertiesFromStack(contentStack);
         GemProperties gemProperties = ModUtils.getGemPropertiesFromStack(contentStack);
@@ -126,13 +137,16 @@ public class ServerEventsUtils {
 
         // get result item
         String shape = ModUtils.getShapeFromStack(contentStack);
-        Item resultItem = ForgeRegistries.ITEMS.getValue(isValidMold
+        MetalHandles metalHandles = isMetal ? MaterialHandles.getMetal(metalProps.name()) : null;
+        GemHandles gemHandles = isMetal ? null : MaterialHandles.getGem(gemProperties.name());
+        if (metalHandles == null && gemHandles == null) return null;
+        Item resultItem = isValidMold
                 ? getItemResult(
                         shape,
-                        isMetal ? metalProps.itemResults(): gemProperties.itemResults(),
-                        isMetal ? metalProps.ingot(): gemProperties.gem())
-                : getRawFromMetalProp(contentStack, metalProps));
-        if (resultItem == null || resultItem == Items.AIR) return null;
+                        isMetal ? metalHandles.itemResults() : gemHandles.itemResults(),
+                        isMetal ? metalHandles.ingot() : gemHandles.gem())
+                : getRawFromMetalHandles(contentStack, metalHandles);
+        if (resultItem == null) return null;
         ItemStack resultStack = new ItemStack(resultItem);
         if (resultItem instanceof MetalItem) {
             ModUtils.setContentToStack(resultStack, isMetal? metalProps.name() : gemProperties.name());
@@ -147,13 +161,17 @@ public class ServerEventsUtils {
             }
         }
 
-        // play sound and particles
+        if (playEffects) {
+            playCoolingEffects(level, pos);
+        }
+        return resultStack;
+    }
+
+    public static void playCoolingEffects(Level level, BlockPos pos) {
         level.playSound(null, pos, SoundEvents.FIRE_EXTINGUISH, SoundSource.BLOCKS, 0.8F, 1.5F + level.random.nextFloat() * 0.5F);
         if (level instanceof ServerLevel serverLevel) {
             serverLevel.sendParticles(ParticleTypes.SPLASH, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, 8, 0.5, 0.1, 0.5, 0.1);
         }
-
-        return resultStack;
     }
 
     public static boolean pourContentBetweenItemMolds(ItemStack mainHand, ItemStack offHand, Player player) {
@@ -186,9 +204,11 @@ public class ServerEventsUtils {
         boolean isOffHandMold = offHand.getItem() instanceof ItemMold && ModUtils.getContentFromStack(offHand).equals(ModData.DEFAULT_CONTENT);
         if (!isMainHandMold && !isOffHandMold) return false;
 
-        String handShape = ModUtils.getShapeKeyFromString(isMainHandMold ? offHand.getDescriptionId() : mainHand.getDescriptionId(), false);
-        if (ModConfig.CONFIG.blockKeywords.get().stream().anyMatch(handShape::contains)) return false;
-        Item newItem = ModItems.ITEM_MOLDS_CLAY.get(handShape).get();
+        String handShape = ItemClassifier.get(isMainHandMold ? offHand.getItem() : mainHand.getItem()).getShape(false);
+        if (MaterialKeywords.get().isBlock(handShape)) return false;
+        RegistryObject<Item> moldObject = ModItems.ITEM_MOLDS_CLAY.get(handShape);
+        if (moldObject == null) return false;
+        Item newItem = moldObject.get();
         ItemStack newMainHand = isMainHandMold ? new ItemStack(newItem, mainHand.getCount()) : mainHand.copy();
         ItemStack newoffHand = isOffHandMold ? new ItemStack(newItem, offHand.getCount()) : offHand.copy();
         ModUtils.setShapeToStack(isMainHandMold ? newMainHand : newoffHand, handShape, false);
@@ -205,9 +225,11 @@ public class ServerEventsUtils {
         boolean isOffHandMold = offHand.getItem() instanceof BlockMoldItem mold && ModUtils.getContentFromStack(offHand).equals(ModData.DEFAULT_CONTENT) && mold.getMaterialType() == MaterialType.CLAY;
         if (!isMainHandMold && !isOffHandMold) return false;
 
-        String handShape = ModUtils.getShapeKeyFromString(isMainHandMold ? offHand.getDescriptionId() : mainHand.getDescriptionId(), true);
-        if (ModConfig.CONFIG.blockKeywords.get().stream().anyMatch(handShape::contains)) return false;
-        Item newItem = ModBlocks.BLOCK_MOLDS_CLAY.get(handShape).get();
+        String handShape = ItemClassifier.get(isMainHandMold ? offHand.getItem() : mainHand.getItem()).getShape(true);
+        if (MaterialKeywords.get().isBlock(handShape)) return false;
+        RegistryObject<Item> moldObject = ModBlocks.BLOCK_MOLDS_CLAY.get(handShape);
+        if (moldObject == null) return false;
+        Item newItem = moldObject.get();
         ItemStack newMainHand = isMainHandMold ? new ItemStack(newItem, mainHand.getCount()) : mainHand.copy();
         ItemStack newoffHand = isOffHandMold ? new ItemStack(newItem, offHand.getCount()) : offHand.copy();
         ModUtils.setShapeToStack(isMainHandMold ? newMainHand : newoffHand, handShape, true);
@@ -245,21 +267,22 @@ public class ServerEventsUtils {
         return true;
     }
 
-    private static ResourceLocation getRawFromMetalProp(ItemStack metalStack, MetalProperties metalProps) {
-        return metalStack.getItem() instanceof MoltenMetalItem ? metalProps.raw() : metalProps.rawBlock();
+    private static Item getRawFromMetalHandles(ItemStack metalStack, MetalHandles metalHandles) {
+        return metalStack.getItem() instanceof MoltenMetalItem ? metalHandles.raw() : metalHandles.rawBlock();
     }
 
-    public static ResourceLocation getItemResult(String shape, Map<String, ResourceLocation> itemResults, ResourceLocation defaultResult) {
-        ResourceLocation result = itemResults.get(shape);
+    public static Item getItemResult(String shape, Map<String, Item> itemResults, Item defaultResult) {
+        Item result = itemResults.get(shape);
         return result != null ? result : defaultResult;
     }
 
     private static void dropMoltenItem(Player player, ItemStack stack, Level level) {
         MetalProperties metalProperties = ModUtils.getMetalPropertiesFromStack(stack);
+        MetalHandles metalHandles = metalProperties == null ? null : MaterialHandles.getMetal(metalProperties.name());
+        Fluid fluid = metalHandles == null ? null : metalHandles.moltenFluid();
 
         // if fluid is found, place it, otherwise drop it as an item
-        if (stack.getItem() instanceof MoltenMetalBlock && metalProperties.moltenFluid() != null) {
-            Fluid fluid = ForgeRegistries.FLUIDS.getValue(metalProperties.moltenFluid());
+        if (stack.getItem() instanceof MoltenMetalBlock && fluid != null) {
             BlockPos pos = player.blockPosition().relative(player.getDirection());
             level.setBlockAndUpdate(pos, fluid.defaultFluidState().createLegacyBlock());
             level.playSound(null, pos, SoundEvents.BUCKET_EMPTY_LAVA, SoundSource.BLOCKS, 1.0f, 1.0f);